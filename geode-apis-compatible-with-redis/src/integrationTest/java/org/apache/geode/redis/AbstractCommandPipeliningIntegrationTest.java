@@ -15,8 +15,13 @@
 
 package org.apache.geode.redis;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -106,6 +111,55 @@ public abstract class AbstractCommandPipeliningIntegrationTest implements RedisI
     jedis.close();
   }
 
+  @Test
+  public void pipelinedCommandsFollowedBySubscribeAndQuit_areAllAnsweredBeforeTheConnectionCloses()
+      throws Exception {
+    // more commands than the server writes before flushing its responses
+    final int NUMBER_OF_COMMANDS_IN_PIPELINE = 100;
+    StringBuilder request = new StringBuilder();
+    StringBuilder expectedResponses = new StringBuilder();
+    for (int i = 0; i < NUMBER_OF_COMMANDS_IN_PIPELINE; i++) {
+      request.append(command("ECHO", String.valueOf(i)));
+      expectedResponses.append(bulkString(String.valueOf(i)));
+    }
+    request.append(command("SUBSCRIBE", "salutations"));
+    expectedResponses.append("*3\r\n").append(bulkString("subscribe"))
+        .append(bulkString("salutations")).append(":1\r\n");
+    request.append(command("QUIT"));
+    expectedResponses.append("+OK\r\n");
+
+    try (Socket socket = new Socket("localhost", getPort())) {
+      socket.setSoTimeout(REDIS_CLIENT_TIMEOUT);
+      OutputStream out = socket.getOutputStream();
+      out.write(request.toString().getBytes(UTF_8));
+      out.flush();
+
+      // QUIT closes the connection, so reading to the end times out if a response is never flushed
+      ByteArrayOutputStream responses = new ByteArrayOutputStream();
+      InputStream in = socket.getInputStream();
+      byte[] buffer = new byte[1024];
+      int bytesRead;
+      while ((bytesRead = in.read(buffer)) != -1) {
+        responses.write(buffer, 0, bytesRead);
+      }
+
+      assertThat(new String(responses.toByteArray(), UTF_8))
+          .isEqualTo(expectedResponses.toString());
+    }
+  }
+
+  private static String command(String... arguments) {
+    StringBuilder command = new StringBuilder("*").append(arguments.length).append("\r\n");
+    for (String argument : arguments) {
+      command.append(bulkString(argument));
+    }
+    return command.toString();
+  }
+
+  private static String bulkString(String value) {
+    return "$" + value.length() + "\r\n" + value + "\r\n";
+  }
+
   private void verifyResultOrder(final int numberOfCommandInPipeline, List<Object> results) {
     for (int i = 0; i < numberOfCommandInPipeline; i++) {
       String expected = String.valueOf(i);
@@ -45,6 +45,10 @@ public class RedisResponse {
     afterWriteCallback = callback;
   }
 
+  public boolean hasAfterWriteCallback() {
+    return afterWriteCallback != null;
+  }
+
   public void afterWrite() {
     if (afterWriteCallback != null) {
       afterWriteCallback.run();
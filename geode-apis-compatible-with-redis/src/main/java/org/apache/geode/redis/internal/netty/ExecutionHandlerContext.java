@@ -95,6 +95,12 @@ public class ExecutionHandlerContext extends ChannelInboundHandlerAdapter {
       Integer.getInteger("geode.redis.commandQueueSize", 1000);
   private final LinkedBlockingQueue<Command> commandQueue =
       new LinkedBlockingQueue<>(MAX_QUEUED_COMMANDS);
+  /**
+   * The most responses written by the command queue thread before they are flushed, even if more
+   * pipelined commands are waiting in the queue.
+   */
+  private static final int MAX_UNFLUSHED_RESPONSES = 64;
+  private int unflushedResponses;
 
   private final int serverPort;
   private CountDownLatch eventLoopSwitched;
@@ -139,11 +145,39 @@ public class ExecutionHandlerContext extends ChannelInboundHandlerAdapter {
   }
 
   public ChannelFuture writeToChannel(RedisResponse response) {
-    return channel.writeAndFlush(response.encode(byteBufAllocator), channel.newPromise())
-        .addListener((ChannelFutureListener) f -> {
-          response.afterWrite();
-          logResponse(response, channel.remoteAddress(), f.cause());
-        });
+    return writeToChannel(response, true);
+  }
+
+  private ChannelFuture writeToChannel(RedisResponse response, boolean flush) {
+    ByteBuf encodedResponse = response.encode(byteBufAllocator);
+    ChannelFuture future = flush ? channel.writeAndFlush(encodedResponse, channel.newPromise())
+        : channel.write(encodedResponse, channel.newPromise());
+    return future.addListener((ChannelFutureListener) f -> {
+      response.afterWrite();
+      logResponse(response, channel.remoteAddress(), f.cause());
+    });
+  }
+
+  /**
+   * Writes the response to a command taken from the command queue. The response is only flushed
+   * once no more pipelined commands are queued, so that a pipeline of commands is answered with
+   * few socket writes. Responses that have an after-write callback are flushed immediately, since
+   * commands that follow them may wait for that callback.
+   */
+  private void writeCommandResponse(RedisResponse response) {
+    boolean flush = response.hasAfterWriteCallback() || commandQueue.isEmpty()
+        || ++unflushedResponses >= MAX_UNFLUSHED_RESPONSES;
+    if (flush) {
+      unflushedResponses = 0;
+    }
+    writeToChannel(response, flush);
+  }
+
+  private void flushCommandResponses() {
+    if (unflushedResponses > 0) {
+      unflushedResponses = 0;
+      channel.flush();
+    }
   }
 
   private void processCommandQueue() {
@@ -158,6 +192,9 @@ public class ExecutionHandlerContext extends ChannelInboundHandlerAdapter {
       } catch (Throwable ex) {
         exceptionCaught(command.getChannelHandlerContext(), ex);
       }
+      if (commandQueue.isEmpty()) {
+        flushCommandResponses();
+      }
     }
   }
 
@@ -299,35 +336,36 @@ public class ExecutionHandlerContext extends ChannelInboundHandlerAdapter {
       // Note: Some Redis 6 clients look for an 'unknown command' error when
       // connecting to Redis <= 5 servers. So we need to check for unknown BEFORE auth.
       if (command.isUnknown()) {
-        writeToChannel(command.execute(this));
+        writeCommandResponse(command.execute(this));
         return;
       }
 
       if (!isAuthenticated()) {
-        writeToChannel(handleUnAuthenticatedCommand(command));
+        writeCommandResponse(handleUnAuthenticatedCommand(command));
         return;
       }
 
       if (command.isUnsupported() && !allowUnsupportedCommands()) {
-        writeToChannel(new UnknownExecutor().executeCommand(command, this));
+        writeCommandResponse(new UnknownExecutor().executeCommand(command, this));
         return;
       }
 
       if (!getPubSub().findSubscriptionNames(getClient()).isEmpty()) {
         if (!command.getCommandType().isAllowedWhileSubscribed()) {
-          writeToChannel(RedisResponse
+          writeCommandResponse(RedisResponse
               .error("only (P)SUBSCRIBE / (P)UNSUBSCRIBE / PING / QUIT allowed in this context"));
         }
       }
 
       final long start = redisStats.startCommand();
       try {
-        writeToChannel(command.execute(this));
+        writeCommandResponse(command.execute(this));
       } finally {
         redisStats.endCommand(command.getCommandType(), start);
       }
 
       if (command.isOfType(RedisCommandType.QUIT)) {
+        flushCommandResponses();
         channelInactive(command.getChannelHandlerContext());
       }
     } catch (Exception e) {
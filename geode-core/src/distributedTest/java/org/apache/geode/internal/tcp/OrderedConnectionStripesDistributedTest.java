@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.tcp;
+
+import static org.apache.geode.distributed.ConfigurationProperties.CONSERVE_SOCKETS;
+import static org.apache.geode.test.awaitility.GeodeAwaitility.await;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Serializable;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.EntryEvent;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.util.CacheListenerAdapter;
+import org.apache.geode.test.dunit.rules.ClusterStartupRule;
+import org.apache.geode.test.dunit.rules.MemberVM;
+import org.apache.geode.test.junit.categories.MembershipTest;
+
+/**
+ * Verifies how the receiving member processes messages sent on ordered connection stripes, see
+ * {@link ConnectionTable#ORDERED_CONNECTIONS_PER_MEMBER}.
+ */
+@Category(MembershipTest.class)
+public class OrderedConnectionStripesDistributedTest implements Serializable {
+
+  private static final String STRIPED_REGION = "stripedRegion";
+  private static final String DOMINO_REGION = "dominoRegion";
+  private static final String REPLY_REGION = "replyRegion";
+
+  private static volatile String processingThreadName;
+
+  private MemberVM stripedServer;
+  private MemberVM server;
+
+  @Rule
+  public ClusterStartupRule cluster = new ClusterStartupRule(3);
+
+  @Before
+  public void setUp() {
+    MemberVM locator = cluster.startLocatorVM(0);
+    stripedServer = cluster.startServerVM(1,
+        s -> s.withConnectionToLocator(locator.getPort()).withProperty(CONSERVE_SOCKETS, "false")
+            .withSystemProperty(ConnectionTable.ORDERED_CONNECTIONS_PER_MEMBER, "2"));
+    server = cluster.startServerVM(2,
+        s -> s.withConnectionToLocator(locator.getPort()).withProperty(CONSERVE_SOCKETS, "false"));
+
+    stripedServer.invoke(() -> {
+      Region<String, String> replyRegion = createRegion(REPLY_REGION);
+      createRegion(STRIPED_REGION);
+      createRegion(DOMINO_REGION).getAttributesMutator()
+          .addCacheListener(new CacheListenerAdapter<String, String>() {
+            @Override
+            public void afterCreate(EntryEvent<String, String> event) {
+              replyRegion.put(event.getKey(), event.getNewValue());
+            }
+          });
+    });
+    server.invoke(() -> {
+      processingThreadName = null;
+      CacheListenerAdapter<String, String> listener = new CacheListenerAdapter<String, String>() {
+        @Override
+        public void afterCreate(EntryEvent<String, String> event) {
+          processingThreadName = Thread.currentThread().getName();
+        }
+      };
+      createRegion(STRIPED_REGION).getAttributesMutator().addCacheListener(listener);
+      createRegion(REPLY_REGION).getAttributesMutator().addCacheListener(listener);
+      createRegion(DOMINO_REGION);
+    });
+  }
+
+  @Test
+  public void messagesSentOnStripeAreProcessedBySharedReaderInsteadOfSerialExecutor() {
+    stripedServer.invoke(() -> {
+      getRegion(STRIPED_REGION).put("key", "value");
+      assertThat(ConnectionTable.threadOrderedConnMap.get()).isNull();
+    });
+
+    server.invoke(() -> await().untilAsserted(() -> assertThat(processingThreadName)
+        .startsWith(Connection.THREAD_KIND_IDENTIFIER)
+        .contains(" shared ordered")
+        .doesNotContain("unshared")));
+  }
+
+  @Test
+  public void threadOwnedReaderKeepsItsOwnConnectionWhenStriped() {
+    server.invoke(() -> getRegion(DOMINO_REGION).put("key", "value"));
+
+    server.invoke(() -> await().untilAsserted(() -> assertThat(processingThreadName)
+        .startsWith(Connection.THREAD_KIND_IDENTIFIER)
+        .contains("unshared ordered")));
+  }
+
+  private static Region<String, String> createRegion(String name) {
+    return ClusterStartupRule.getCache()
+        .<String, String>createRegionFactory(RegionShortcut.REPLICATE).create(name);
+  }
+
+  private static Region<String, String> getRegion(String name) {
+    return ClusterStartupRule.getCache().getRegion(name);
+  }
+}
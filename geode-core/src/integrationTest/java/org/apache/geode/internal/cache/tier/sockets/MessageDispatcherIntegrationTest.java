@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+import static org.apache.geode.internal.statistics.StatisticsClockFactory.disabledClock;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TestName;
+
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.internal.cache.EventID;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.internal.cache.ha.HARegionQueue;
+import org.apache.geode.test.junit.categories.ClientSubscriptionTest;
+
+@Category({ClientSubscriptionTest.class})
+public class MessageDispatcherIntegrationTest {
+
+  private static final int BATCH_SIZE = 3;
+
+  private InternalCache cache;
+  private CacheClientProxy proxy;
+  private final List<ClientMessage> clientMessages = new ArrayList<>();
+  private final List<Message> messages = new ArrayList<>();
+
+  @Rule
+  public TestName testName = new TestName();
+
+  @Before
+  public void setUp() {
+    cache = (InternalCache) new CacheFactory().set(MCAST_PORT, "0").create();
+    proxy = mock(CacheClientProxy.class);
+    when(proxy.getStatistics()).thenReturn(mock(CacheClientProxyStats.class));
+    when(proxy.getProxyID()).thenReturn(mock(ClientProxyMembershipID.class));
+  }
+
+  @After
+  public void tearDown() {
+    if (cache != null) {
+      cache.close();
+    }
+  }
+
+  @Test
+  public void dispatchBatchSendsDistinctMessagesFromNonDurableQueue() throws Exception {
+    HARegionQueue queue = createQueue(false);
+    MessageDispatcher dispatcher = new MessageDispatcher(proxy, queue, BATCH_SIZE);
+
+    dispatcher.dispatchBatch((ClientMessage) queue.peek());
+
+    verifyFirstBatchSent();
+    assertThat(queue.size()).isEqualTo(1);
+    assertThat(queue.peek()).isSameAs(clientMessages.get(3));
+  }
+
+  @Test
+  public void dispatchBatchSendsDistinctMessagesFromDurableQueue() throws Exception {
+    HARegionQueue queue = createQueue(true);
+    MessageDispatcher dispatcher = new MessageDispatcher(proxy, queue, BATCH_SIZE);
+
+    dispatcher.dispatchBatch((ClientMessage) queue.peek());
+
+    verifyFirstBatchSent();
+    // the sent messages stay in the queue until the client acknowledges them
+    assertThat(queue.size()).isEqualTo(4);
+    assertThat(queue.peek()).isSameAs(clientMessages.get(3));
+  }
+
+  @Test
+  public void dispatchBatchOfPausedProxyLeavesQueueUnpeeked() throws Exception {
+    HARegionQueue queue = createQueue(false);
+    when(proxy.isPaused()).thenReturn(true);
+    MessageDispatcher dispatcher = new MessageDispatcher(proxy, queue, BATCH_SIZE);
+
+    dispatcher.dispatchBatch((ClientMessage) queue.peek());
+
+    for (ClientMessage clientMessage : clientMessages) {
+      verify(clientMessage, never()).getMessage(any(), eq(true));
+    }
+    assertThat(queue.isPeekInitialized()).isFalse();
+    assertThat(queue.size()).isEqualTo(4);
+    assertThat(queue.peek()).isSameAs(clientMessages.get(0));
+  }
+
+  private HARegionQueue createQueue(boolean durable) throws Exception {
+    when(proxy.isDurable()).thenReturn(durable);
+    HARegionQueue queue = HARegionQueue.getHARegionQueueInstance(testName.getMethodName(), cache,
+        HARegionQueue.BLOCKING_HA_QUEUE, durable, disabledClock());
+    assertThat(queue.isPeekAdvancing()).isEqualTo(durable);
+    for (int i = 0; i < 4; i++) {
+      Message message = mock(Message.class);
+      ClientMessage clientMessage = mock(ClientMessage.class);
+      when(clientMessage.getEventId()).thenReturn(new EventID(new byte[] {1}, 1, i + 1));
+      when(clientMessage.shouldBeConflated()).thenReturn(false);
+      when(clientMessage.getMessage(proxy, true)).thenReturn(message);
+      clientMessages.add(clientMessage);
+      messages.add(message);
+      queue.put(clientMessage);
+    }
+    return queue;
+  }
+
+  private void verifyFirstBatchSent() throws Exception {
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      verify(clientMessages.get(i), times(1)).getMessage(proxy, true);
+      verify(messages.get(i), times(1)).sendCoalesced();
+    }
+    verify(clientMessages.get(3), never()).getMessage(any(), eq(true));
+    verify(messages.get(BATCH_SIZE - 1), times(1)).flush();
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.distributed.internal.ReplyMessage;
+import org.apache.geode.internal.serialization.ByteArrayDataInput;
+import org.apache.geode.internal.serialization.DSFIDSerializer;
+import org.apache.geode.internal.serialization.KnownVersion;
+import org.apache.geode.internal.serialization.internal.DSFIDSerializerImpl;
+
+/**
+ * Compares creating a DataSerializableFixedID through the instantiator generated when its class
+ * is registered against the reflective constructor invocation it replaces.
+ */
+@State(Scope.Thread)
+@Fork(1)
+public class DSFIDSerializerBenchmark {
+
+  private final ByteArrayDataInput dataInput = new ByteArrayDataInput();
+  private DSFIDSerializer serializer;
+  private Constructor<?> constructor;
+  private int dsfid;
+  private byte[] serializedBytes;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    serializer = InternalDataSerializer.getDSFIDSerializer();
+    ReplyMessage message = new ReplyMessage();
+    message.setProcessorId(42);
+    dsfid = message.getDSFID();
+    if (dsfid >= Byte.MIN_VALUE && dsfid <= Byte.MAX_VALUE) {
+      constructor = ((DSFIDSerializerImpl) serializer).getDsfidmap()[dsfid + Byte.MAX_VALUE + 1];
+    } else {
+      constructor = ((DSFIDSerializerImpl) serializer).getDsfidmap2().get(dsfid);
+    }
+    HeapDataOutputStream hdos = new HeapDataOutputStream(KnownVersion.CURRENT);
+    serializer.invokeToData(message, hdos);
+    serializedBytes = hdos.toByteArray();
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 3)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public Object createWithInstantiator() throws IOException, ClassNotFoundException {
+    dataInput.initialize(serializedBytes, KnownVersion.CURRENT);
+    return serializer.create(dsfid, dataInput);
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 3)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public Object createWithConstructor() throws Exception {
+    dataInput.initialize(serializedBytes, KnownVersion.CURRENT);
+    Object ds = constructor.newInstance();
+    serializer.invokeFromData(ds, dataInput);
+    return ds;
+  }
+}
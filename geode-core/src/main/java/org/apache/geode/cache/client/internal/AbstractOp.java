@@ -31,6 +31,7 @@ import org.apache.geode.internal.cache.tier.sockets.ChunkedMessage;
 import org.apache.geode.internal.cache.tier.sockets.Message;
 import org.apache.geode.internal.cache.tier.sockets.Part;
 import org.apache.geode.internal.cache.tier.sockets.ServerConnection;
+import org.apache.geode.internal.cache.tier.sockets.ServerQueueStatus;
 import org.apache.geode.internal.logging.log4j.LogMarker;
 import org.apache.geode.internal.serialization.ByteArrayDataInput;
 import org.apache.geode.internal.serialization.KnownVersion;
@@ -88,6 +89,8 @@ public abstract class AbstractOp implements Op {
     }
     getMessage().setComms(cnx.getSocket(), cnx.getInputStream(), cnx.getOutputStream(),
         cnx.getCommBuffer(), cnx.getStats());
+    ServerQueueStatus queueStatus = cnx.getQueueStatus();
+    getMessage().setCompressParts(queueStatus != null && queueStatus.isWireCompressionEnabled());
     try {
       sendMessage(cnx);
     } finally {
@@ -56,6 +56,7 @@ import org.apache.geode.internal.cache.tier.Encryptor;
 import org.apache.geode.internal.cache.tier.sockets.ClientProxyMembershipID;
 import org.apache.geode.internal.cache.tier.sockets.EncryptorImpl;
 import org.apache.geode.internal.cache.tier.sockets.Handshake;
+import org.apache.geode.internal.cache.tier.sockets.MessageCompression;
 import org.apache.geode.internal.cache.tier.sockets.ServerQueueStatus;
 import org.apache.geode.internal.security.SecurityService;
 import org.apache.geode.internal.serialization.ByteArrayDataInput;
@@ -217,13 +218,20 @@ public class ClientSideHandshakeImpl extends Handshake implements ClientSideHand
 
       // No need to check for return value since DataInputStream already throws
       // EOFException in case of EOF
-      final byte endpointType = dis.readByte();
+      byte endpointType = dis.readByte();
+      final boolean wireCompressionAccepted =
+          MessageCompression.getInstance().isEnabled(communicationMode)
+              && (endpointType & MessageCompression.ACCEPTED_ENDPOINT_TYPE_BIT) != 0;
+      if (wireCompressionAccepted) {
+        endpointType &= ~MessageCompression.ACCEPTED_ENDPOINT_TYPE_BIT;
+      }
       final int queueSize = dis.readInt();
 
       member = readServerMember(dis);
 
       final ServerQueueStatus serverQStatus =
           new ServerQueueStatus(endpointType, queueSize, member);
+      serverQStatus.setWireCompressionEnabled(wireCompressionAccepted);
 
       // Read the message (if any)
       readMessage(dis, dos, acceptanceCode, member);
@@ -378,7 +386,11 @@ public class ClientSideHandshakeImpl extends Handshake implements ClientSideHand
 
       byte[] overrides = getOverrides();
       for (final byte override : overrides) {
-        hdos.writeByte(override);
+        if (MessageCompression.getInstance().isEnabled(communicationMode)) {
+          hdos.writeByte(override | MessageCompression.REQUEST_OVERRIDE_BIT);
+        } else {
+          hdos.writeByte(override);
+        }
       }
 
       if (isCallbackConnection || communicationMode.isWAN()) {
@@ -15,6 +15,7 @@
 package org.apache.geode.cache.client.internal;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -35,6 +36,7 @@ import org.apache.geode.internal.cache.tier.sockets.Part;
 import org.apache.geode.internal.cache.tier.sockets.VersionedObjectList;
 import org.apache.geode.internal.serialization.KnownVersion;
 import org.apache.geode.logging.internal.log4j.api.LogService;
+import org.apache.geode.util.internal.GeodeGlossary;
 
 /**
  * Does a region getAll on a server
@@ -45,6 +47,23 @@ public class GetAllOp {
 
   private static final Logger logger = LogService.getLogger();
 
+  /**
+   * The maximum number of keys sent to a server in one single-hop getAll request. The keys hosted
+   * by a server are split into batches of this size which are fetched concurrently, so that a large
+   * getAll is not limited to one request per server. Zero, the default, sends all the keys of a
+   * server in one request.
+   */
+  static final int SINGLE_HOP_BATCH_SIZE =
+      Integer.getInteger(GeodeGlossary.GEMFIRE_PREFIX + "GetAllOp.singleHopBatchSize", 0);
+
+  /**
+   * The maximum number of single-hop getAll batches sent to the same server at a time. The other
+   * batches of that server are sent as these complete, so a large getAll does not take a thread and
+   * a connection for each of its batches.
+   */
+  static final int MAX_CONCURRENT_BATCHES_PER_SERVER = Math.max(1, Integer
+      .getInteger(GeodeGlossary.GEMFIRE_PREFIX + "GetAllOp.maxConcurrentBatchesPerServer", 4));
+
   /**
    * Does a region getAll on a server using connections from the given pool to communicate with the
    * server.
@@ -136,16 +155,43 @@ public class GetAllOp {
     }
     for (ServerLocation server : servers) {
       Set filterSet = serverToFilterMap.get(server);
-      AbstractOp getAllOp = new GetAllOpImpl(region, new ArrayList(filterSet), callback);
+      for (List batch : batchKeys(filterSet, SINGLE_HOP_BATCH_SIZE)) {
+        AbstractOp getAllOp = new GetAllOpImpl(region, batch, callback);
 
-      SingleHopOperationCallable task =
-          new SingleHopOperationCallable(new ServerLocation(server.getHostName(), server.getPort()),
-              pool, getAllOp, UserAttributes.userAttributes.get());
-      tasks.add(task);
+        SingleHopOperationCallable task =
+            new SingleHopOperationCallable(
+                new ServerLocation(server.getHostName(), server.getPort()),
+                pool, getAllOp, UserAttributes.userAttributes.get());
+        tasks.add(task);
+      }
     }
     return tasks;
   }
 
+  /**
+   * Splits the given keys into lists of at most batchSize keys, or into a single list if batchSize
+   * is not positive.
+   */
+  static List<List> batchKeys(Collection keys, int batchSize) {
+    List<List> batches = new ArrayList<>();
+    if (batchSize <= 0 || keys.size() <= batchSize) {
+      batches.add(new ArrayList(keys));
+      return batches;
+    }
+    List batch = new ArrayList(batchSize);
+    for (Object key : keys) {
+      batch.add(key);
+      if (batch.size() == batchSize) {
+        batches.add(batch);
+        batch = new ArrayList(batchSize);
+      }
+    }
+    if (!batch.isEmpty()) {
+      batches.add(batch);
+    }
+    return batches;
+  }
+
   static class GetAllOpImpl extends AbstractOp {
 
     private final List keyList;
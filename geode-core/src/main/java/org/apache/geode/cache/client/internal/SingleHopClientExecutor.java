@@ -14,19 +14,25 @@
  */
 package org.apache.geode.cache.client.internal;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import org.apache.logging.log4j.Logger;
 
 import org.apache.geode.GemFireException;
 import org.apache.geode.InternalGemFireException;
+import org.apache.geode.annotations.VisibleForTesting;
 import org.apache.geode.annotations.internal.MakeNotStatic;
 import org.apache.geode.cache.CacheClosedException;
 import org.apache.geode.cache.client.ServerConnectivityException;
@@ -292,12 +298,21 @@ public class SingleHopClientExecutor {
       Map<ServerLocation, Set> serverToFilterMap,
       List callableTasks, ClientMetadataService cms,
       LocalRegion region) {
+    return submitGetAll(serverToFilterMap, callableTasks, cms, region,
+        GetAllOp.MAX_CONCURRENT_BATCHES_PER_SERVER);
+  }
+
+  @VisibleForTesting
+  static Map<ServerLocation, Object> submitGetAll(
+      Map<ServerLocation, Set> serverToFilterMap,
+      List callableTasks, ClientMetadataService cms,
+      LocalRegion region, int maxConcurrentBatchesPerServer) {
 
     if (callableTasks != null && !callableTasks.isEmpty()) {
       Map<ServerLocation, Object> resultMap = new HashMap<>();
       List futures;
       try {
-        futures = execService.invokeAll(callableTasks);
+        futures = invokeAllPerServer(callableTasks, maxConcurrentBatchesPerServer);
       } catch (InterruptedException e) {
         throw new InternalGemFireException(e.getMessage());
       }
@@ -329,7 +344,14 @@ public class SingleHopClientExecutor {
           if (logger.isDebugEnabled()) {
             logger.debug("GetAllOp#got result from {}: {}", server, valuesFromServer);
           }
-          resultMap.put(server, valuesFromServer);
+          // a server's keys may have been split into several batches. If one of them failed the
+          // exception is kept so that all the keys of that server are retried.
+          Object previous = resultMap.get(server);
+          if (previous instanceof VersionedObjectList) {
+            ((VersionedObjectList) previous).addAll(valuesFromServer);
+          } else if (previous == null) {
+            resultMap.put(server, valuesFromServer);
+          }
         } catch (InterruptedException e) {
           throw new InternalGemFireException(e.getMessage());
         } catch (ExecutionException ee) {
@@ -363,6 +385,38 @@ public class SingleHopClientExecutor {
     return null;
   }
 
+  /**
+   * Runs the given tasks and returns their futures in the same order once all of them are done.
+   * At most maxConcurrentTasksPerServer tasks run against the same server at a time: the tasks of
+   * each server are shared by that many chains, each of which runs them one after the other.
+   */
+  private static List<Future> invokeAllPerServer(List<SingleHopOperationCallable> tasks,
+      int maxConcurrentTasksPerServer) throws InterruptedException {
+    List<Future> futures = new ArrayList<>(tasks.size());
+    Map<ServerLocation, Queue<FutureTask>> tasksByServer = new HashMap<>();
+    for (SingleHopOperationCallable task : tasks) {
+      FutureTask future = new FutureTask(task);
+      futures.add(future);
+      tasksByServer.computeIfAbsent(task.getServer(), server -> new ConcurrentLinkedQueue<>())
+          .add(future);
+    }
+    List<Callable<Void>> chains = new ArrayList<>();
+    for (Queue<FutureTask> serverTasks : tasksByServer.values()) {
+      int chainCount = Math.min(maxConcurrentTasksPerServer, serverTasks.size());
+      for (int i = 0; i < chainCount; i++) {
+        chains.add(() -> {
+          FutureTask next;
+          while ((next = serverTasks.poll()) != null) {
+            next.run();
+          }
+          return null;
+        });
+      }
+    }
+    execService.invokeAll(chains);
+    return futures;
+  }
+
   static void submitTask(Runnable task) {
     execService.execute(task);
   }
@@ -164,6 +164,11 @@ public class ClusterDistributionManager implements DistributionManager {
   private Distribution distribution;
   private ClusterOperationExecutors executors;
 
+  /**
+   * Sends plain acknowledgements in batches, or null if they are sent one by one.
+   */
+  private volatile ReplyCoalescer replyCoalescer;
+
   /**
    * Membership failure listeners - for testing
    */
@@ -448,6 +453,9 @@ public class ClusterDistributionManager implements DistributionManager {
     try {
 
       executors = new ClusterOperationExecutors(stats, system);
+      if (ReplyCoalescer.FLUSH_INTERVAL_MICROS > 0) {
+        replyCoalescer = new ReplyCoalescer(this, stats);
+      }
 
       if (!SYNC_EVENTS) {
         memberEventThread =
@@ -1075,6 +1083,14 @@ public class ClusterDistributionManager implements DistributionManager {
     return localAddress;
   }
 
+  /**
+   * Returns the coalescer of plain acknowledgements sent by this manager, or null if acknowledgements
+   * are not coalesced.
+   */
+  ReplyCoalescer getReplyCoalescer() {
+    return replyCoalescer;
+  }
+
   @Override
   public Set<InternalDistributedMember> putOutgoing(final DistributionMessage msg) {
     try {
@@ -1170,6 +1186,11 @@ public class ClusterDistributionManager implements DistributionManager {
   }
 
   private void askThreadsToStop() {
+    ReplyCoalescer coalescer = replyCoalescer;
+    if (coalescer != null) {
+      replyCoalescer = null;
+      coalescer.close();
+    }
     executors.askThreadsToStop();
 
     Thread th = memberEventThread;
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed.internal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.geode.internal.serialization.DeserializationContext;
+import org.apache.geode.internal.serialization.SerializationContext;
+
+/**
+ * Acknowledges several operations at once. Each processor id is processed as if a plain
+ * {@link ReplyMessage}, without exception or return value, had been received for it.
+ *
+ * @see ReplyCoalescer
+ * @since Geode 1.15
+ */
+public class CumulativeReplyMessage extends HighPriorityDistributionMessage {
+
+  private int[] processorIds;
+
+  public CumulativeReplyMessage() {
+    // for deserialization
+  }
+
+  CumulativeReplyMessage(int[] processorIds) {
+    this.processorIds = processorIds;
+  }
+
+  int[] getProcessorIds() {
+    return processorIds;
+  }
+
+  @Override
+  public boolean getInlineProcess() {
+    return true;
+  }
+
+  /**
+   * Processes the acknowledgement of every processor id, even if processing one of them fails. A
+   * processor that fails is cancelled, and the first failure is rethrown once all processor ids
+   * have been handled.
+   */
+  @Override
+  protected void process(ClusterDistributionManager dm) {
+    RuntimeException failure = null;
+    for (int processorId : processorIds) {
+      ReplyProcessor21 processor = ReplyProcessor21.getProcessor(processorId);
+      if (processor == null) {
+        continue;
+      }
+      ReplyMessage reply = new ReplyMessage();
+      reply.setProcessorId(processorId);
+      reply.setSender(getSender());
+      try {
+        processor.process(reply);
+      } catch (RuntimeException ex) {
+        processor.cancel(getSender(), ex);
+        if (failure == null) {
+          failure = ex;
+        } else {
+          failure.addSuppressed(ex);
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  @Override
+  public int getDSFID() {
+    return CUMULATIVE_REPLY_MESSAGE;
+  }
+
+  @Override
+  public void toData(DataOutput out, SerializationContext context) throws IOException {
+    super.toData(out, context);
+    out.writeInt(processorIds.length);
+    for (int processorId : processorIds) {
+      out.writeInt(processorId);
+    }
+  }
+
+  @Override
+  public void fromData(DataInput in, DeserializationContext context)
+      throws IOException, ClassNotFoundException {
+    super.fromData(in, context);
+    processorIds = new int[in.readInt()];
+    for (int i = 0; i < processorIds.length; i++) {
+      processorIds[i] = in.readInt();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return getShortClassName() + " processorIds=" + Arrays.toString(processorIds) + " from "
+        + getSender();
+  }
+}
@@ -138,6 +138,18 @@ public interface DMStats extends MembershipStatistics {
 
   void incBatchFlushTime(long start);
 
+  /**
+   * Increments the number of socket writes that carried the given number of messages, queued by
+   * concurrent senders, in one gathering write.
+   */
+  void incCoalescedSocketWrites(int messages);
+
+  /**
+   * Increments the number of cumulative reply messages sent, and of the acknowledgements they
+   * carried.
+   */
+  void incCoalescedReplies(int replies);
+
   /**
    * Increments the total number of nanoseconds spent scheduling messages to be processed.
    */
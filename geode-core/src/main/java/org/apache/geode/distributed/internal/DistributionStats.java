@@ -159,6 +159,10 @@ public class DistributionStats implements DMStats {
   private static final int batchCopyTimeId;
   private static final int batchWaitTimeId;
   private static final int batchFlushTimeId;
+  private static final int coalescedSocketWritesId;
+  private static final int coalescedMessagesId;
+  private static final int cumulativeRepliesId;
+  private static final int coalescedRepliesId;
 
   private static final int threadOwnedReceiversId;
   private static final int threadOwnedReceiversId2;
@@ -609,6 +613,18 @@ public class DistributionStats implements DMStats {
         f.createLongCounter("batchFlushTime",
             "Total amount of time, in nanoseconds, spent flushing batched messages to the network",
             "nanoseconds"),
+        f.createLongCounter("coalescedSocketWrites",
+            "Total number of socket writes that sent messages queued by more than one thread at once.",
+            "writes"),
+        f.createLongCounter("coalescedMessages",
+            "Total number of messages sent by coalesced socket writes. Divided by coalescedSocketWrites it gives the average batch size.",
+            "messages"),
+        f.createLongCounter("cumulativeReplies",
+            "Total number of messages sent that acknowledge several operations at once.",
+            "messages"),
+        f.createLongCounter("coalescedReplies",
+            "Total number of acknowledgements sent in cumulative reply messages instead of in their own reply message.",
+            "messages"),
 
         f.createLongGauge("asyncSocketWritesInProgress",
             "Current number of non-blocking socket write calls in progress.", "writes"),
@@ -852,6 +868,10 @@ public class DistributionStats implements DMStats {
     batchCopyTimeId = type.nameToId("batchCopyTime");
     batchWaitTimeId = type.nameToId("batchWaitTime");
     batchFlushTimeId = type.nameToId("batchFlushTime");
+    coalescedSocketWritesId = type.nameToId("coalescedSocketWrites");
+    coalescedMessagesId = type.nameToId("coalescedMessages");
+    cumulativeRepliesId = type.nameToId("cumulativeReplies");
+    coalescedRepliesId = type.nameToId("coalescedReplies");
 
     asyncSocketWritesInProgressId = type.nameToId("asyncSocketWritesInProgress");
     asyncSocketWritesId = type.nameToId("asyncSocketWrites");
@@ -2256,6 +2276,18 @@ public class DistributionStats implements DMStats {
     }
   }
 
+  @Override
+  public void incCoalescedSocketWrites(int messages) {
+    stats.incLong(coalescedSocketWritesId, 1);
+    stats.incLong(coalescedMessagesId, messages);
+  }
+
+  @Override
+  public void incCoalescedReplies(int replies) {
+    stats.incLong(cumulativeRepliesId, 1);
+    stats.incLong(coalescedRepliesId, replies);
+  }
+
   @Override
   public void incUcastRetransmits() {
     stats.incLong(ucastRetransmitsId, 1);
@@ -589,6 +589,12 @@ public class LonerDistributionManager implements DistributionManager {
     @Override
     public void incBatchFlushTime(long start) {}
 
+    @Override
+    public void incCoalescedSocketWrites(int messages) {}
+
+    @Override
+    public void incCoalescedReplies(int replies) {}
+
     @Override
     public void incUcastWriteBytes(long bytesWritten) {}
 
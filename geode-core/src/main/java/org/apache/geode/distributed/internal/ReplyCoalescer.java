@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed.internal;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.apache.geode.annotations.VisibleForTesting;
+import org.apache.geode.distributed.internal.membership.InternalDistributedMember;
+import org.apache.geode.internal.serialization.KnownVersion;
+import org.apache.geode.logging.internal.executors.LoggingExecutors;
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * Collects the processor ids of plain acknowledgements sent to each member and sends them to that
+ * member as one {@link CumulativeReplyMessage} every flush interval, or as soon as
+ * {@link #MAX_PENDING_REPLIES} are pending for it. Acknowledgements carrying an exception or a
+ * return value, direct replies and replies to members that do not know CumulativeReplyMessage are
+ * always sent on their own.
+ *
+ * @since Geode 1.15
+ */
+public class ReplyCoalescer {
+
+  /**
+   * The interval, in microseconds, at which coalesced acknowledgements are sent. Zero, the default,
+   * disables coalescing.
+   */
+  public static final long FLUSH_INTERVAL_MICROS =
+      Long.getLong(GeodeGlossary.GEMFIRE_PREFIX + "ReplyMessage.coalesceIntervalMicros", 0);
+
+  /**
+   * The number of pending acknowledgements to a member at which they are sent without waiting for
+   * the next flush.
+   */
+  static final int MAX_PENDING_REPLIES =
+      Integer.getInteger(GeodeGlossary.GEMFIRE_PREFIX + "ReplyMessage.maxCoalescedReplies", 256);
+
+  private final ReplySender replySender;
+
+  private final DMStats stats;
+
+  /**
+   * Pending processor ids per member. Guarded by itself.
+   */
+  private final Map<InternalDistributedMember, PendingReplies> pendingReplies = new HashMap<>();
+
+  private final ScheduledExecutorService flusher;
+
+  ReplyCoalescer(ReplySender replySender, DMStats stats) {
+    this.replySender = replySender;
+    this.stats = stats;
+    flusher = LoggingExecutors.newSingleThreadScheduledExecutor("ReplyCoalescer");
+    flusher.scheduleAtFixedRate(this::flush, FLUSH_INTERVAL_MICROS, FLUSH_INTERVAL_MICROS,
+        MICROSECONDS);
+  }
+
+  @VisibleForTesting
+  ReplyCoalescer(ReplySender replySender, DMStats stats, ScheduledExecutorService flusher) {
+    this.replySender = replySender;
+    this.stats = stats;
+    this.flusher = flusher;
+  }
+
+  /**
+   * Returns true if an acknowledgement to the given member can be coalesced.
+   */
+  static boolean canCoalesce(InternalDistributedMember recipient) {
+    return recipient.getVersion().isNotOlderThan(KnownVersion.GEODE_1_15_0);
+  }
+
+  /**
+   * Queues an acknowledgement of the given processor id to the given member.
+   */
+  void add(InternalDistributedMember recipient, int processorId) {
+    PendingReplies toSend = null;
+    synchronized (pendingReplies) {
+      PendingReplies replies =
+          pendingReplies.computeIfAbsent(recipient, k -> new PendingReplies());
+      replies.add(processorId);
+      if (replies.size >= MAX_PENDING_REPLIES) {
+        toSend = pendingReplies.remove(recipient);
+      }
+    }
+    if (toSend != null) {
+      send(recipient, toSend);
+    }
+  }
+
+  /**
+   * Sends all pending acknowledgements.
+   */
+  void flush() {
+    Map<InternalDistributedMember, PendingReplies> toSend;
+    synchronized (pendingReplies) {
+      if (pendingReplies.isEmpty()) {
+        return;
+      }
+      toSend = new HashMap<>(pendingReplies);
+      pendingReplies.clear();
+    }
+    toSend.forEach(this::send);
+  }
+
+  void close() {
+    flusher.shutdown();
+    flush();
+  }
+
+  private void send(InternalDistributedMember recipient, PendingReplies replies) {
+    CumulativeReplyMessage message =
+        new CumulativeReplyMessage(Arrays.copyOf(replies.processorIds, replies.size));
+    message.setRecipient(recipient);
+    replySender.putOutgoing(message);
+    stats.incCoalescedReplies(replies.size);
+  }
+
+  private static class PendingReplies {
+    private int[] processorIds = new int[16];
+    private int size;
+
+    private void add(int processorId) {
+      if (size == processorIds.length) {
+        processorIds = Arrays.copyOf(processorIds, size * 2);
+      }
+      processorIds[size++] = processorId;
+    }
+  }
+}
@@ -92,6 +92,9 @@ public class ReplyMessage extends HighPriorityDistributionMessage {
   public static void send(InternalDistributedMember recipient, int processorId,
       ReplyException exception, ReplySender dm, boolean internal) {
     Assert.assertTrue(recipient != null, "Sending a ReplyMessage to ALL");
+    if (exception == null && !internal && coalesce(recipient, processorId, dm)) {
+      return;
+    }
     ReplyMessage m = new ReplyMessage();
 
     m.processorId = processorId;
@@ -140,6 +143,10 @@ public class ReplyMessage extends HighPriorityDistributionMessage {
       ReplyException exception, ReplySender dm, boolean ignored, boolean closed,
       boolean sendViaJGroups, boolean internal) {
     Assert.assertTrue(recipient != null, "Sending a ReplyMessage to ALL");
+    if (exception == null && !ignored && !closed && !sendViaJGroups && !internal
+        && coalesce(recipient, processorId, dm)) {
+      return;
+    }
     ReplyMessage m = new ReplyMessage();
 
     m.processorId = processorId;
@@ -178,6 +185,26 @@ public class ReplyMessage extends HighPriorityDistributionMessage {
 
 
 
+  /**
+   * Hands a plain acknowledgement to the reply coalescer of the distribution manager, if it has
+   * one. Direct replies are sent by a {@link ReplySender} that is not the distribution manager and
+   * are never coalesced.
+   *
+   * @return true if the acknowledgement will be sent by the coalescer
+   */
+  private static boolean coalesce(InternalDistributedMember recipient, int processorId,
+      ReplySender dm) {
+    if (processorId == 0 || !(dm instanceof ClusterDistributionManager)) {
+      return false;
+    }
+    ReplyCoalescer coalescer = ((ClusterDistributionManager) dm).getReplyCoalescer();
+    if (coalescer == null || !ReplyCoalescer.canCoalesce(recipient)) {
+      return false;
+    }
+    coalescer.add(recipient, processorId);
+    return true;
+  }
+
   /**
    * Processes this message. This method is invoked by the receiver of the message if the message is
    * not direct ack. If the message is a direct ack, the process(dm, ReplyProcessor) method is
@@ -57,6 +57,7 @@ import org.apache.geode.cache.query.internal.types.CollectionTypeImpl;
 import org.apache.geode.cache.query.internal.types.MapTypeImpl;
 import org.apache.geode.cache.query.internal.types.ObjectTypeImpl;
 import org.apache.geode.cache.query.internal.types.StructTypeImpl;
+import org.apache.geode.distributed.internal.CumulativeReplyMessage;
 import org.apache.geode.distributed.internal.DistributionAdvisor;
 import org.apache.geode.distributed.internal.HighPriorityAckedMessage;
 import org.apache.geode.distributed.internal.ReplyMessage;
@@ -486,6 +487,7 @@ public class DSFIDFactory implements DataSerializableFixedID {
     serializer.registerDSFID(DISTRIBUTED_MEMBER, InternalDistributedMember.class);
     serializer.registerDSFID(UPDATE_MESSAGE, UpdateOperation.UpdateMessage.class);
     serializer.registerDSFID(REPLY_MESSAGE, ReplyMessage.class);
+    serializer.registerDSFID(CUMULATIVE_REPLY_MESSAGE, CumulativeReplyMessage.class);
     serializer.registerDSFID(PR_DESTROY, DestroyMessage.class);
     serializer.registerDSFID(CREATE_REGION_MESSAGE,
         CreateRegionProcessor.CreateRegionMessage.class);
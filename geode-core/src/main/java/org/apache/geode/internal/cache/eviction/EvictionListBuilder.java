@@ -22,6 +22,10 @@ public class EvictionListBuilder {
 
   private final boolean evictionScanAsync;
 
+  private final int evictionListStripes;
+
+  private final boolean evictionTinyLfu;
+
   private final EvictionController controller;
 
   public EvictionListBuilder(EvictionController evictionController) {
@@ -29,13 +33,21 @@ public class EvictionListBuilder {
     Optional<Boolean> asyncScan =
         SystemPropertyHelper.getProductBooleanProperty(SystemPropertyHelper.EVICTION_SCAN_ASYNC);
     evictionScanAsync = asyncScan.orElse(true);
+    evictionListStripes = SystemPropertyHelper
+        .getProductIntegerProperty(SystemPropertyHelper.EVICTION_LIST_STRIPES).orElse(1);
+    evictionTinyLfu = SystemPropertyHelper
+        .getProductBooleanProperty(SystemPropertyHelper.EVICTION_TINY_LFU).orElse(false);
   }
 
   public EvictionList create() {
     if (this.controller.getEvictionAlgorithm().isLIFO()) {
       return new LIFOList(this.controller);
     } else {
-      if (evictionScanAsync) {
+      if (evictionTinyLfu) {
+        return new TinyLFUList(this.controller);
+      } else if (evictionListStripes > 1) {
+        return new StripedLRUList(this.controller, evictionListStripes);
+      } else if (evictionScanAsync) {
         return new LRUListWithAsyncSorting(this.controller);
       } else {
         return new LRUListWithSyncSorting(this.controller);
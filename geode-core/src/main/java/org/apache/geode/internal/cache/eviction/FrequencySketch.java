@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+/**
+ * A count-min sketch of 4-bit counters that estimates how often a hash code was seen recently.
+ * Each long in the table holds sixteen counters, and each hash code is counted in four of them.
+ * Once the number of increments reaches ten times the table size all counters are halved, so that
+ * the estimates favor recent history. This class is not thread safe.
+ */
+class FrequencySketch {
+
+  static final int MAXIMUM_FREQUENCY = 15;
+
+  private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L,
+      0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+  private static final long RESET_MASK = 0x7777777777777777L;
+
+  private static final long ONE_MASK = 0x1111111111111111L;
+
+  private static final int SAMPLE_FACTOR = 10;
+
+  private long[] table;
+
+  private int tableMask;
+
+  private int sampleSize;
+
+  private int size;
+
+  FrequencySketch() {
+    ensureCapacity(16);
+  }
+
+  /**
+   * Grows the table so that it can count about the given number of distinct hash codes. Growing
+   * the table discards the counts made so far.
+   */
+  void ensureCapacity(int capacity) {
+    int tableLength = Integer.highestOneBit(Math.max(16, Math.min(capacity, 1 << 26)) - 1) << 1;
+    if (table != null && table.length >= tableLength) {
+      return;
+    }
+    table = new long[tableLength];
+    tableMask = tableLength - 1;
+    sampleSize = SAMPLE_FACTOR * tableLength;
+    size = 0;
+  }
+
+  int frequency(int hashCode) {
+    int hash = spread(hashCode);
+    int start = (hash & 3) << 2;
+    int frequency = MAXIMUM_FREQUENCY;
+    for (int i = 0; i < 4; i++) {
+      int index = indexOf(hash, i);
+      int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  void increment(int hashCode) {
+    int hash = spread(hashCode);
+    int start = (hash & 3) << 2;
+    boolean added = false;
+    for (int i = 0; i < 4; i++) {
+      added |= incrementAt(indexOf(hash, i), start + i);
+    }
+    if (added && ++size == sampleSize) {
+      reset();
+    }
+  }
+
+  int getSampleSize() {
+    return sampleSize;
+  }
+
+  private boolean incrementAt(int index, int counter) {
+    int offset = counter << 2;
+    long mask = 0xfL << offset;
+    if ((table[index] & mask) != mask) {
+      table[index] += 1L << offset;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Halves every counter so that older accesses count for less than recent ones.
+   */
+  private void reset() {
+    int odd = 0;
+    for (int i = 0; i < table.length; i++) {
+      odd += Long.bitCount(table[i] & ONE_MASK);
+      table[i] = (table[i] >>> 1) & RESET_MASK;
+    }
+    size = (size >>> 1) - (odd >>> 2);
+  }
+
+  private int indexOf(int hash, int i) {
+    long h = (hash + SEEDS[i]) * SEEDS[i];
+    h += h >>> 32;
+    return ((int) h) & tableMask;
+  }
+
+  private static int spread(int x) {
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    return (x >>> 16) ^ x;
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.geode.internal.cache.BucketRegion;
+import org.apache.geode.internal.cache.versions.RegionVersionVector;
+
+/**
+ * An LRU eviction list split into stripes that are locked independently, so that threads adding
+ * and removing different entries do not contend on a single list. Each entry always belongs to the
+ * stripe selected by its identity hash code. Each stripe is a {@link LRUListWithSyncSorting}: a
+ * CLOCK ring that skips entries whose recently used bit, which is set on the entry without taking
+ * any list lock, is set. Evictions take the least recently used entry of each stripe in turn.
+ */
+public class StripedLRUList implements EvictionList {
+
+  private final EvictionController controller;
+
+  private final LRUListWithSyncSorting[] stripes;
+
+  private final AtomicInteger nextStripe = new AtomicInteger();
+
+  StripedLRUList(EvictionController controller, int numberOfStripes) {
+    this.controller = controller;
+    this.stripes = new LRUListWithSyncSorting[numberOfStripes];
+    for (int i = 0; i < numberOfStripes; i++) {
+      this.stripes[i] = new LRUListWithSyncSorting(controller);
+    }
+  }
+
+  LRUListWithSyncSorting getStripe(EvictionNode evictionNode) {
+    return stripes[Math.floorMod(System.identityHashCode(evictionNode), stripes.length)];
+  }
+
+  @Override
+  public void closeStats() {
+    getStatistics().close();
+  }
+
+  @Override
+  public void appendEntry(EvictionNode evictionNode) {
+    getStripe(evictionNode).appendEntry(evictionNode);
+  }
+
+  @Override
+  public EvictableEntry getEvictableEntry() {
+    int start = nextStripe.getAndIncrement();
+    for (int i = 0; i < stripes.length; i++) {
+      EvictableEntry evictableEntry =
+          stripes[Math.floorMod(start + i, stripes.length)].getEvictableEntry();
+      if (evictableEntry != null) {
+        return evictableEntry;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void destroyEntry(EvictionNode evictionNode) {
+    getStripe(evictionNode).destroyEntry(evictionNode);
+  }
+
+  @Override
+  public EvictionCounters getStatistics() {
+    return controller.getCounters();
+  }
+
+  @Override
+  public void clear(RegionVersionVector regionVersionVector, BucketRegion bucketRegion) {
+    if (regionVersionVector != null) {
+      return; // when concurrency checks are enabled the clear operation removes entries iteratively
+    }
+
+    synchronized (this) {
+      if (bucketRegion != null) {
+        getStatistics().decrementCounter(bucketRegion.getCounter());
+        bucketRegion.resetCounter();
+      } else {
+        getStatistics().resetCounter();
+      }
+      for (LRUListWithSyncSorting stripe : stripes) {
+        stripe.initEmptyList();
+      }
+    }
+  }
+
+  @Override
+  public int size() {
+    int size = 0;
+    for (LRUListWithSyncSorting stripe : stripes) {
+      size += stripe.size();
+    }
+    return size;
+  }
+
+  @Override
+  public void incrementRecentlyUsed() {
+    // nothing needed, each stripe skips recently used entries when evicting
+  }
+}
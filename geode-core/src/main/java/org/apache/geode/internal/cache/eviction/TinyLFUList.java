@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.internal.cache.BucketRegion;
+import org.apache.geode.internal.cache.RegionEntry;
+import org.apache.geode.internal.cache.versions.RegionVersionVector;
+import org.apache.geode.internal.logging.log4j.LogMarker;
+import org.apache.geode.logging.internal.log4j.api.LogService;
+
+/**
+ * An eviction list that keeps frequently used entries in memory even when a scan touches many
+ * entries once. Entries added to the list go into a small window, about one percent of the list,
+ * that overflows into the main CLOCK ring inherited from {@link AbstractEvictionList}. To evict, the
+ * least recently used entry of the window is compared with the least recently used entry of the
+ * main ring, and the one whose key a {@link FrequencySketch} has seen less often is evicted. A
+ * window entry that wins moves into the main ring. The sketch counts entries being added to the
+ * list, for example when their value is faulted in from disk, and entries found recently used
+ * while looking for an entry to evict.
+ */
+public class TinyLFUList extends AbstractEvictionList {
+
+  private static final Logger logger = LogService.getLogger();
+
+  private static final int WINDOW_PERCENT = 1;
+
+  private static final int MAX_EVICTION_ATTEMPTS = 10;
+
+  private final FrequencySketch sketch = new FrequencySketch();
+
+  /** The entries in the window, all other entries in this list are in the main ring */
+  private final Set<EvictionNode> windowNodes =
+      Collections.newSetFromMap(new IdentityHashMap<>());
+
+  private final EvictionNode windowHead = new GuardNode();
+
+  private final EvictionNode windowTail = new GuardNode();
+
+  TinyLFUList(EvictionController controller) {
+    super(controller);
+    windowHead.setNext(windowTail);
+    windowTail.setPrevious(windowHead);
+  }
+
+  @Override
+  public int size() {
+    return super.size() + getWindowSize();
+  }
+
+  synchronized int getWindowSize() {
+    return windowNodes.size();
+  }
+
+  FrequencySketch getFrequencySketch() {
+    return sketch;
+  }
+
+  @Override
+  public synchronized void appendEntry(EvictionNode evictionNode) {
+    if (evictionNode.next() != null) {
+      // already in the list
+      return;
+    }
+
+    sketch.ensureCapacity(size() + 1);
+    sketch.increment(hash(evictionNode));
+
+    evictionNode.setNext(windowTail);
+    windowTail.previous().setNext(evictionNode);
+    evictionNode.setPrevious(windowTail.previous());
+    windowTail.setPrevious(evictionNode);
+    windowNodes.add(evictionNode);
+
+    int windowSize = Math.max(1, size() * WINDOW_PERCENT / 100);
+    while (windowNodes.size() > windowSize) {
+      EvictionNode oldest = windowHead.next();
+      unlinkWindowEntry(oldest);
+      super.appendEntry(oldest);
+    }
+  }
+
+  @Override
+  public synchronized void destroyEntry(EvictionNode evictionNode) {
+    if (windowNodes.contains(evictionNode)) {
+      unlinkWindowEntry(evictionNode);
+      getStatistics().incDestroys();
+    } else {
+      super.destroyEntry(evictionNode);
+    }
+  }
+
+  @Override
+  public void clear(RegionVersionVector regionVersionVector, BucketRegion bucketRegion) {
+    super.clear(regionVersionVector, bucketRegion);
+    if (regionVersionVector == null) {
+      synchronized (this) {
+        windowNodes.clear();
+        windowHead.setNext(windowTail);
+        windowTail.setPrevious(windowHead);
+      }
+    }
+  }
+
+  @Override
+  public EvictableEntry getEvictableEntry() {
+    long evaluations = 0;
+    int evictionAttempts = 0;
+    for (;;) {
+      EvictionNode evictionNode = unlinkVictim();
+      if (evictionNode == null) {
+        // hit the end of the list
+        getStatistics().incEvaluations(evaluations);
+        return null;
+      }
+      evaluations++;
+
+      if (logger.isTraceEnabled(LogMarker.LRU_CLOCK_VERBOSE)) {
+        logger.trace(LogMarker.LRU_CLOCK_VERBOSE, "tiny lfu considering {}", evictionNode);
+      }
+
+      if (!isEvictable(evictionNode)) {
+        continue;
+      }
+
+      if (evictionNode.isRecentlyUsed() && evictionAttempts < MAX_EVICTION_ATTEMPTS) {
+        evictionAttempts++;
+        evictionNode.unsetRecentlyUsed();
+        synchronized (this) {
+          sketch.increment(hash(evictionNode));
+          super.appendEntry(evictionNode);
+        }
+        continue;
+      }
+
+      if (evictionNode.isRecentlyUsed()) {
+        getStatistics().incGreedyReturns(1);
+      }
+      getStatistics().incEvaluations(evaluations);
+      return (EvictableEntry) evictionNode;
+    }
+  }
+
+  @Override
+  public void incrementRecentlyUsed() {
+    // nothing needed, recently used entries are counted when looking for an entry to evict
+  }
+
+  /**
+   * Unlinks and returns the next entry to consider for eviction: whichever of the oldest window
+   * entry and the oldest main ring entry is less frequently used. A window entry that is used more
+   * often than the main ring entry moves into the main ring.
+   */
+  private synchronized EvictionNode unlinkVictim() {
+    EvictionNode windowCandidate = windowHead.next();
+    if (windowCandidate == windowTail) {
+      return unlinkHeadEntry();
+    }
+    unlinkWindowEntry(windowCandidate);
+    EvictionNode mainCandidate = head.next();
+    if (mainCandidate == tail) {
+      return windowCandidate;
+    }
+    if (sketch.frequency(hash(windowCandidate)) > sketch.frequency(hash(mainCandidate))) {
+      super.appendEntry(windowCandidate);
+      unlinkEntry(mainCandidate);
+      return mainCandidate;
+    }
+    return windowCandidate;
+  }
+
+  private void unlinkWindowEntry(EvictionNode evictionNode) {
+    EvictionNode next = evictionNode.next();
+    EvictionNode previous = evictionNode.previous();
+    next.setPrevious(previous);
+    previous.setNext(next);
+    evictionNode.setNext(null);
+    evictionNode.setPrevious(null);
+    windowNodes.remove(evictionNode);
+  }
+
+  private static int hash(EvictionNode evictionNode) {
+    if (evictionNode instanceof RegionEntry) {
+      Object key = ((RegionEntry) evictionNode).getKey();
+      if (key != null) {
+        return key.hashCode();
+      }
+    }
+    return System.identityHashCode(evictionNode);
+  }
+}
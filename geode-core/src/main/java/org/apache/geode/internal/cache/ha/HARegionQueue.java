@@ -1397,6 +1397,14 @@ public class HARegionQueue implements RegionQueue {
     return this.getNextAvailableID();
   }
 
+  /**
+   * Returns whether each call to {@link #peek()} moves on to the next available event. Otherwise
+   * peek() returns the head of the queue until the peeked events are removed.
+   */
+  public boolean isPeekAdvancing() {
+    return false;
+  }
+
   protected void storePeekedID(Long id) {
     // ARB: Implemented in DurableHARegionQueue.
   }
@@ -2521,6 +2529,11 @@ public class HARegionQueue implements RegionQueue {
       return this.getAndRemoveNextAvailableID();
     }
 
+    @Override
+    public boolean isPeekAdvancing() {
+      return true;
+    }
+
     /**
      * It is different from its super implementation only in not invoking
      * incrementTakeSidePutPermits(). Fix for #41521.
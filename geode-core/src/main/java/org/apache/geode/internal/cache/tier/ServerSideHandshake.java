@@ -44,6 +44,12 @@ public interface ServerSideHandshake {
 
   Encryptor getEncryptor();
 
+  /**
+   * Returns true if the client requested compression of large message parts and this server
+   * accepts it.
+   */
+  boolean isWireCompressionEnabled();
+
   void handshakeWithClient(OutputStream out, InputStream in, byte endpointType, int queueSize,
       CommunicationMode communicationMode, Principal principal) throws IOException;
 }
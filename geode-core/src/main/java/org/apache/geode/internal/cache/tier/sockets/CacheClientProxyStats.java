@@ -60,6 +60,10 @@ public class CacheClientProxyStats implements MessageStats {
   private static final String DELTA_FULL_MESSAGES_SENT = "deltaFullMessagesSent";
   /** Name of the CQ count statistic */
   private static final String CQ_COUNT = "cqCount";
+  /** Name of the message batches sent statistic */
+  private static final String MESSAGE_BATCHES_SENT = "messageBatchesSent";
+  /** Name of the messages conflated in batch statistic */
+  private static final String MESSAGES_CONFLATED_IN_BATCH = "messagesConflatedInBatch";
 
   /** Id of the messages received statistic */
   private static final int _messagesReceivedId;
@@ -84,6 +88,10 @@ public class CacheClientProxyStats implements MessageStats {
   /** Id of the CQ count statistic */
   private static final int _cqCountId;
   private static final int _sentBytesId;
+  /** Id of the message batches sent statistic */
+  private static final int _messageBatchesSentId;
+  /** Id of the messages conflated in batch statistic */
+  private static final int _messagesConflatedInBatchId;
 
   /*
    * Static initializer to create and initialize the <code>StatisticsType</code>
@@ -128,7 +136,15 @@ public class CacheClientProxyStats implements MessageStats {
             "operations"),
 
         f.createLongCounter(CQ_COUNT, "Number of CQs on the client.", "operations"),
-        f.createLongCounter("sentBytes", "Total number of bytes sent to client.", "bytes"),});
+        f.createLongCounter("sentBytes", "Total number of bytes sent to client.", "bytes"),
+
+        f.createIntCounter(MESSAGE_BATCHES_SENT,
+            "Number of batches of client messages written to the client with a single flush.",
+            "operations"),
+
+        f.createIntCounter(MESSAGES_CONFLATED_IN_BATCH,
+            "Number of client messages not sent because a later message in the same batch updated the same key.",
+            "operations"),});
 
     // Initialize id fields
     _messagesReceivedId = _type.nameToId(MESSAGES_RECEIVED);
@@ -143,6 +159,8 @@ public class CacheClientProxyStats implements MessageStats {
     _deltaFullMessagesSentId = _type.nameToId(DELTA_FULL_MESSAGES_SENT);
     _cqCountId = _type.nameToId(CQ_COUNT);
     _sentBytesId = _type.nameToId("sentBytes");
+    _messageBatchesSentId = _type.nameToId(MESSAGE_BATCHES_SENT);
+    _messagesConflatedInBatchId = _type.nameToId(MESSAGES_CONFLATED_IN_BATCH);
   }
 
   ////////////////////// Instance Fields //////////////////////
@@ -271,6 +289,24 @@ public class CacheClientProxyStats implements MessageStats {
     return this._stats.getInt(_cqCountId);
   }
 
+  /**
+   * Returns the current value of the "messageBatchesSent" stat.
+   *
+   * @return the current value of the "messageBatchesSent" stat
+   */
+  public int getMessageBatchesSent() {
+    return this._stats.getInt(_messageBatchesSentId);
+  }
+
+  /**
+   * Returns the current value of the "messagesConflatedInBatch" stat.
+   *
+   * @return the current value of the "messagesConflatedInBatch" stat
+   */
+  public int getMessagesConflatedInBatch() {
+    return this._stats.getInt(_messagesConflatedInBatchId);
+  }
+
   /**
    * Increments the "messagesReceived" stat.
    */
@@ -355,6 +391,22 @@ public class CacheClientProxyStats implements MessageStats {
     this._stats.incLong(_messageProcessingTimeId, elapsed);
   }
 
+  /**
+   * Increments the "messageBatchesSent" stat.
+   */
+  public void incMessageBatchesSent() {
+    this._stats.incInt(_messageBatchesSentId, 1);
+  }
+
+  /**
+   * Increments the "messagesConflatedInBatch" stat.
+   *
+   * @param count The number of messages conflated
+   */
+  public void incMessagesConflatedInBatch(int count) {
+    this._stats.incInt(_messagesConflatedInBatchId, count);
+  }
+
   /**
    * Increments the "deltaMessagesSent" stats.
    */
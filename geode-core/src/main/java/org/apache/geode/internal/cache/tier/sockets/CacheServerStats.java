@@ -201,6 +201,13 @@ public class CacheServerStats implements MessageStats {
   int receivedBytesId;
   int sentBytesId;
 
+  int compressedPartsId;
+  int uncompressedPartBytesId;
+  int compressedPartBytesId;
+  int partCompressionTimeId;
+  int decompressedPartsId;
+  int partDecompressionTimeId;
+
   int outOfOrderBatchIdsId;
   int abandonedWriteRequestsId;
   int abandonedReadRequestsId;
@@ -444,6 +451,19 @@ public class CacheServerStats implements MessageStats {
             "Total number of bytes received from clients.", "bytes"),
         statisticsFactory.createLongCounter("sentBytes", "Total number of bytes sent to clients.",
             "bytes"),
+        statisticsFactory.createLongCounter("compressedParts",
+            "Total number of message parts compressed before being sent to clients.", "parts"),
+        statisticsFactory.createLongCounter("uncompressedPartBytes",
+            "Total size of the message parts compressed before being sent to clients.", "bytes"),
+        statisticsFactory.createLongCounter("compressedPartBytes",
+            "Total compressed size of the message parts compressed before being sent to clients. Compared with uncompressedPartBytes it gives the compression ratio.",
+            "bytes"),
+        statisticsFactory.createLongCounter("partCompressionTime",
+            "Total time spent compressing message parts sent to clients.", "nanoseconds"),
+        statisticsFactory.createLongCounter("decompressedParts",
+            "Total number of compressed message parts received from clients.", "parts"),
+        statisticsFactory.createLongCounter("partDecompressionTime",
+            "Total time spent decompressing message parts received from clients.", "nanoseconds"),
         statisticsFactory.createIntGauge("messagesBeingReceived",
             "Current number of message being received off the network or being processed after reception.",
             "messages"),
@@ -587,6 +607,13 @@ public class CacheServerStats implements MessageStats {
     receivedBytesId = this.stats.nameToId("receivedBytes");
     sentBytesId = this.stats.nameToId("sentBytes");
 
+    compressedPartsId = this.stats.nameToId("compressedParts");
+    uncompressedPartBytesId = this.stats.nameToId("uncompressedPartBytes");
+    compressedPartBytesId = this.stats.nameToId("compressedPartBytes");
+    partCompressionTimeId = this.stats.nameToId("partCompressionTime");
+    decompressedPartsId = this.stats.nameToId("decompressedParts");
+    partDecompressionTimeId = this.stats.nameToId("partDecompressionTime");
+
     messagesBeingReceivedId = this.stats.nameToId("messagesBeingReceived");
     messageBytesBeingReceivedId = this.stats.nameToId("messageBytesBeingReceived");
     connectionsTimedOutId = this.stats.nameToId("connectionsTimedOut");
@@ -939,6 +966,20 @@ public class CacheServerStats implements MessageStats {
     this.stats.incLong(sentBytesId, v);
   }
 
+  @Override
+  public void incCompressedParts(long uncompressedBytes, long compressedBytes, long time) {
+    this.stats.incLong(compressedPartsId, 1);
+    this.stats.incLong(uncompressedPartBytesId, uncompressedBytes);
+    this.stats.incLong(compressedPartBytesId, compressedBytes);
+    this.stats.incLong(partCompressionTimeId, time);
+  }
+
+  @Override
+  public void incDecompressedParts(long time) {
+    this.stats.incLong(decompressedPartsId, 1);
+    this.stats.incLong(partDecompressionTimeId, time);
+  }
+
   @Override
   public void incMessagesBeingReceived(int bytes) {
     stats.incInt(messagesBeingReceivedId, 1);
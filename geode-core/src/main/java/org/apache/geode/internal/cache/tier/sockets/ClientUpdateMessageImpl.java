@@ -28,9 +28,11 @@ import org.apache.logging.log4j.Logger;
 import org.apache.geode.DataSerializer;
 import org.apache.geode.GemFireIOException;
 import org.apache.geode.InternalGemFireError;
+import org.apache.geode.SerializationException;
 import org.apache.geode.annotations.VisibleForTesting;
 import org.apache.geode.cache.query.internal.cq.InternalCqQuery;
 import org.apache.geode.cache.util.ObjectSizer;
+import org.apache.geode.internal.HeapDataOutputStream;
 import org.apache.geode.internal.InternalDataSerializer;
 import org.apache.geode.internal.Sendable;
 import org.apache.geode.internal.cache.CachedDeserializableFactory;
@@ -48,6 +50,7 @@ import org.apache.geode.internal.serialization.DeserializationContext;
 import org.apache.geode.internal.serialization.KnownVersion;
 import org.apache.geode.internal.serialization.SerializationContext;
 import org.apache.geode.internal.size.Sizeable;
+import org.apache.geode.internal.util.BlobHelper;
 import org.apache.geode.logging.internal.log4j.api.LogService;
 
 /**
@@ -143,6 +146,13 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
 
   private VersionTag<?> versionTag;
 
+  /**
+   * The serialized forms of the parts of this message that are identical for every subscribed
+   * client of a given version. They are created by the first dispatcher that sends this message to
+   * a client of that version and reused by all the others.
+   */
+  private transient volatile Map<KnownVersion, SharedParts> sharedParts;
+
   /* added up all constants and form single value */
   private static final int CONSTANT_MEMORY_OVERHEAD;
 
@@ -387,6 +397,7 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
 
     Message message;
     ClientProxyMembershipID proxyId = proxy.getProxyID();
+    SharedParts shared = getSharedParts(proxy, clientVersion);
     // Add CQ info.
     int cqMsgParts = 0;
     boolean clientHasCq = _hasCqs && (getCqs(proxyId) != null);
@@ -406,21 +417,21 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
         message = getMessage(7 + cqMsgParts, clientVersion);
         message.setMessageType(MessageType.LOCAL_INVALIDATE);
         message.addStringPart(_regionName, true);
-        message.addStringOrObjPart(_keyOfInterest);
+        shared.addKeyPart(message);
       } else {
         // Notify by subscription - send the value
         message = getMessage(9 + cqMsgParts, clientVersion);
         if (isCreate()) {
           message.setMessageType(MessageType.LOCAL_CREATE);
           message.addStringPart(_regionName, true);
-          message.addStringOrObjPart(_keyOfInterest);
+          shared.addKeyPart(message);
           message.addObjPart(Boolean.FALSE); // NO delta
           // Add the value (which has already been serialized)
           message.addRawPart(latestValue, (_valueIsObject == 0x01));
         } else {
           message.setMessageType(MessageType.LOCAL_UPDATE);
           message.addStringPart(_regionName, true);
-          message.addStringOrObjPart(_keyOfInterest);
+          shared.addKeyPart(message);
 
           if (deltaBytes != null && !conflation && !proxy.isMarkerEnqueued()
               && !proxy.getRegionsWithEmptyDataPolicy().containsKey(_regionName)) {
@@ -441,11 +452,8 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
         }
       }
 
-      message.addObjPart(_callbackArgument);
-      if (versionTag != null) {
-        versionTag.setCanonicalIDs(proxy.getCache().getDistributionManager());
-      }
-      message.addObjPart(versionTag);
+      shared.addCallbackArgumentPart(message);
+      shared.addVersionTagPart(message);
       message.addObjPart(isClientInterested(proxyId));
       message.addObjPart(clientHasCq);
 
@@ -468,9 +476,9 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
         message.setMessageType(MessageType.LOCAL_INVALIDATE);
       }
       message.addStringPart(_regionName, true);
-      message.addStringOrObjPart(_keyOfInterest);
-      message.addObjPart(_callbackArgument);
-      message.addObjPart(versionTag);
+      shared.addKeyPart(message);
+      shared.addCallbackArgumentPart(message);
+      shared.addVersionTagPart(message);
       message.addObjPart(isClientInterested(proxyId));
       message.addObjPart(clientHasCq);
 
@@ -486,7 +494,7 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
       message = getMessage(4 + cqMsgParts, clientVersion);
       message.setMessageType(MessageType.LOCAL_DESTROY_REGION);
       message.addStringPart(_regionName, true);
-      message.addObjPart(_callbackArgument);
+      shared.addCallbackArgumentPart(message);
       message.addObjPart(clientHasCq);
 
       if (clientHasCq) {
@@ -496,7 +504,7 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
       message = getMessage(4 + cqMsgParts, clientVersion);
       message.setMessageType(MessageType.CLEAR_REGION);
       message.addStringPart(_regionName, true);
-      message.addObjPart(_callbackArgument);
+      shared.addCallbackArgumentPart(message);
       message.addObjPart(clientHasCq);
 
       if (clientHasCq) {
@@ -506,7 +514,7 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
       message = getMessage(4 + cqMsgParts, clientVersion);
       message.setMessageType(MessageType.INVALIDATE_REGION);
       message.addStringPart(_regionName, true);
-      message.addObjPart(_callbackArgument);
+      shared.addCallbackArgumentPart(message);
 
       // Add CQ status.
       message.addObjPart(clientHasCq);
@@ -521,10 +529,110 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
     message.setTransactionId(0);
     // Add the EventId since 5.1 (used to prevent duplicate events
     // received on the client side after a failover)
-    message.addObjPart(_eventIdentifier);
+    shared.addEventIdPart(message);
     return message;
   }
 
+  /**
+   * Returns the parts of this message shared by all clients of the given version, serializing them
+   * if this is the first client of that version the message is sent to.
+   */
+  private SharedParts getSharedParts(CacheClientProxy proxy, KnownVersion clientVersion) {
+    Map<KnownVersion, SharedParts> parts = sharedParts;
+    if (parts == null) {
+      synchronized (this) {
+        parts = sharedParts;
+        if (parts == null) {
+          parts = new ConcurrentHashMap<>(2);
+          sharedParts = parts;
+        }
+      }
+    }
+    SharedParts shared = parts.get(clientVersion);
+    if (shared == null) {
+      if (versionTag != null) {
+        versionTag.setCanonicalIDs(proxy.getCache().getDistributionManager());
+      }
+      shared = new SharedParts(_keyOfInterest, _callbackArgument, versionTag, _eventIdentifier,
+          clientVersion);
+      SharedParts existing = parts.putIfAbsent(clientVersion, shared);
+      if (existing != null) {
+        shared = existing;
+      }
+    }
+    return shared;
+  }
+
+  /**
+   * The already serialized key, callback argument, version tag and event id of a message. The byte
+   * arrays are never modified once created so they can be handed to the {@link Message}s of any
+   * number of clients, producing exactly the bytes the corresponding {@code add*Part} methods of
+   * {@link Message} would.
+   */
+  @VisibleForTesting
+  static class SharedParts {
+    private final byte[] key;
+    private final boolean keyIsObject;
+    private final byte[] callbackArgument;
+    private final boolean callbackArgumentIsObject;
+    private final byte[] versionTag;
+    private final byte[] eventId;
+
+    SharedParts(Object key, Object callbackArgument, VersionTag<?> versionTag, EventID eventId,
+        KnownVersion clientVersion) {
+      KnownVersion version = KnownVersion.CURRENT.equals(clientVersion) ? null : clientVersion;
+      if (key == null || key instanceof String) {
+        this.key = serializeString((String) key);
+        keyIsObject = false;
+      } else {
+        this.key = serialize(key, version);
+        keyIsObject = true;
+      }
+      if (callbackArgument == null || callbackArgument instanceof byte[]) {
+        this.callbackArgument = (byte[]) callbackArgument;
+        callbackArgumentIsObject = false;
+      } else {
+        this.callbackArgument = serialize(callbackArgument, version);
+        callbackArgumentIsObject = true;
+      }
+      this.versionTag = versionTag == null ? null : serialize(versionTag, version);
+      this.eventId = eventId == null ? null : serialize(eventId, version);
+    }
+
+    private static byte[] serializeString(String str) {
+      if (str == null) {
+        return null;
+      }
+      try (HeapDataOutputStream hdos = new HeapDataOutputStream(str)) {
+        return hdos.toByteArray();
+      }
+    }
+
+    private static byte[] serialize(Object o, KnownVersion version) {
+      try {
+        return BlobHelper.serializeToBlob(o, version);
+      } catch (IOException e) {
+        throw new SerializationException("failed serializing object", e);
+      }
+    }
+
+    void addKeyPart(Message message) {
+      message.addRawPart(key, keyIsObject);
+    }
+
+    void addCallbackArgumentPart(Message message) {
+      message.addRawPart(callbackArgument, callbackArgumentIsObject);
+    }
+
+    void addVersionTagPart(Message message) {
+      message.addRawPart(versionTag, versionTag != null);
+    }
+
+    void addEventIdPart(Message message) {
+      message.addRawPart(eventId, eventId != null);
+    }
+  }
+
   private static final ThreadLocal<Map<Integer, Message>> CACHED_MESSAGES =
       ThreadLocal.withInitial(HashMap::new);
 
@@ -568,6 +676,13 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
     return false;
   }
 
+  /**
+   * @return boolean true if this message carries delta bytes rather than only a full value.
+   */
+  boolean hasDeltaBytes() {
+    return deltaBytes != null;
+  }
+
   /**
    * @return boolean true if cq info is present.
    */
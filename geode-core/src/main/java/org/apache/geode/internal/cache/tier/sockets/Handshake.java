@@ -129,6 +129,13 @@ public abstract class Handshake {
    */
   protected byte[] overrides;
 
+  /**
+   * Whether the client asked for compression of large message parts in its overrides byte.
+   *
+   * @see MessageCompression
+   */
+  protected boolean wireCompressionRequested;
+
   /**
    * Test hooks for per client conflation
    *
@@ -148,6 +155,7 @@ public abstract class Handshake {
     this.clientReadTimeout = handshake.clientReadTimeout;
     this.credentials = handshake.credentials;
     this.overrides = handshake.overrides;
+    this.wireCompressionRequested = handshake.wireCompressionRequested;
     this.system = handshake.system;
     this.id = handshake.id;
     this.securityService = handshake.securityService;
@@ -173,6 +181,7 @@ public abstract class Handshake {
   protected void setOverrides(byte[] values) {
     byte override = values[0];
     setClientConflation(((byte) (override & 0x03)));
+    wireCompressionRequested = (override & MessageCompression.REQUEST_OVERRIDE_BIT) != 0;
   }
 
   // used by CacheClientNotifier's handshake reading code
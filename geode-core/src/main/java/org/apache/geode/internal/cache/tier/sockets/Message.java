@@ -171,6 +171,12 @@ public class Message {
 
   private KnownVersion version;
 
+  /**
+   * Whether large parts are compressed when this message is sent. Only set for connections that
+   * negotiated compression during the handshake.
+   */
+  private boolean compressParts = false;
+
   /**
    * Creates a new message with the given number of parts
    */
@@ -547,6 +553,16 @@ public class Message {
     this.securePart.setPartState(bytes, false);
   }
 
+  /**
+   * Sets whether parts larger than the compression threshold are compressed when this message is
+   * sent. Must only be set if the receiver negotiated compression.
+   *
+   * @see MessageCompression
+   */
+  public void setCompressParts(boolean compressParts) {
+    this.compressParts = compressParts;
+  }
+
   public void setMetaRegion(boolean isMetaRegion) {
     this.isMetaRegion = isMetaRegion;
   }
@@ -561,6 +577,16 @@ public class Message {
    * Sends this message out on its socket.
    */
   void sendBytes(boolean clearMessage) throws IOException {
+    sendBytes(clearMessage, false);
+  }
+
+  /**
+   * Sends this message out on its socket. If {@code coalesce} is true the bytes of this message are
+   * appended to whatever is already in the comm buffer and the trailing bytes are left in the buffer
+   * instead of being written, so that several messages can go out in a single write. The caller
+   * must hold exclusive use of the comm buffer until {@link #flush()} is invoked.
+   */
+  void sendBytes(boolean clearMessage, boolean coalesce) throws IOException {
     if (this.serverConnection != null) {
       // Keep track of the fact that we are making progress.
       this.serverConnection.updateProcessingMessage();
@@ -577,9 +603,10 @@ public class Message {
         long totalPartLen = 0;
         long headerLen = 0;
         int partsToTransmit = this.numberOfParts;
+        Part[] compressedParts = this.compressParts ? compressParts() : null;
 
         for (int i = 0; i < this.numberOfParts; i++) {
-          Part part = this.partsList[i];
+          Part part = wirePart(i, compressedParts);
           headerLen += PART_HEADER_SIZE;
           totalPartLen += part.getLength();
         }
@@ -606,10 +633,14 @@ public class Message {
               + ") exceeds gemfire.client.max-message-size setting (" + this.maxMessageSize + ")");
         }
 
-        commBuffer.clear();
+        if (!coalesce) {
+          commBuffer.clear();
+        } else if (commBuffer.remaining() < FIXED_LENGTH) {
+          flushBuffer();
+        }
         packHeaderInfoForSending(msgLen, securityPart != null);
         for (int i = 0; i < partsToTransmit; i++) {
-          Part part = i == this.numberOfParts ? securityPart : this.partsList[i];
+          Part part = i == this.numberOfParts ? securityPart : wirePart(i, compressedParts);
 
           if (commBuffer.remaining() < PART_HEADER_SIZE) {
             flushBuffer();
@@ -621,6 +652,11 @@ public class Message {
           if (partLen <= commBuffer.remaining()) {
             part.writeTo(commBuffer);
           } else {
+            ByteBuffer payload = this.socketChannel != null ? part.getPayloadBuffer() : null;
+            if (payload != null) {
+              writeGathered(commBuffer, payload);
+              continue;
+            }
             flushBuffer();
             if (this.socketChannel != null) {
               part.writeTo(this.socketChannel, commBuffer);
@@ -632,12 +668,9 @@ public class Message {
             }
           }
         }
-        if (commBuffer.position() != 0) {
-          flushBuffer();
-        }
         this.messageModified = false;
-        if (this.socketChannel == null) {
-          this.outputStream.flush();
+        if (!coalesce) {
+          flush();
         }
       }
     } finally {
@@ -647,6 +680,62 @@ public class Message {
     }
   }
 
+  /**
+   * Returns the compressed form of each part worth compressing, or null if none of them is.
+   */
+  private Part[] compressParts() {
+    MessageCompression compression = MessageCompression.getInstance();
+    Part[] compressed = null;
+    for (int i = 0; i < this.numberOfParts; i++) {
+      Part part = this.partsList[i].compress(compression, this.messageStats);
+      if (part != null) {
+        if (compressed == null) {
+          compressed = new Part[this.numberOfParts];
+        }
+        compressed[i] = part;
+      }
+    }
+    return compressed;
+  }
+
+  private Part wirePart(int index, Part[] compressedParts) {
+    if (compressedParts != null && compressedParts[index] != null) {
+      return compressedParts[index];
+    }
+    return this.partsList[index];
+  }
+
+  /**
+   * Writes out any bytes left in the comm buffer by previous coalesced sends.
+   */
+  void flush() throws IOException {
+    if (getCommBuffer().position() != 0) {
+      flushBuffer();
+    }
+    if (this.socketChannel == null) {
+      this.outputStream.flush();
+    }
+  }
+
+  /**
+   * Writes the pending contents of the comm buffer followed by the given direct part payload with
+   * gathering writes on the socket channel, so that a large off-heap value is never copied into the
+   * comm buffer. Heap payloads are copied through the comm buffer instead, see
+   * {@link Part#getPayloadBuffer()}.
+   */
+  private void writeGathered(ByteBuffer commBuffer, ByteBuffer payload) throws IOException {
+    commBuffer.flip();
+    long bytesToSend = commBuffer.remaining() + payload.remaining();
+    ByteBuffer[] buffers = {commBuffer, payload};
+    do {
+      this.socketChannel.write(buffers, 0, buffers.length);
+    } while (payload.remaining() > 0);
+    if (this.messageStats != null) {
+      this.messageStats.incSentBytes(bytesToSend);
+    }
+    commBuffer.clear();
+  }
+
   void flushBuffer() throws IOException {
     final ByteBuffer cb = getCommBuffer();
     if (this.socketChannel != null) {
@@ -950,6 +1039,10 @@ public class Message {
           }
         }
       }
+      if ((partType & Part.COMPRESSED_FLAG) != 0) {
+        partBytes = MessageCompression.getInstance().decompress(partBytes, this.messageStats);
+        partType &= ~Part.COMPRESSED_FLAG;
+      }
       part.init(partBytes, partType);
     }
   }
@@ -1106,6 +1199,7 @@ public class Message {
     this.outputStream = null;
     this.cachedCommBuffer = null;
     this.messageStats = null;
+    this.compressParts = false;
   }
 
   /**
@@ -1129,6 +1223,15 @@ public class Message {
     sendBytes(clearMessage);
   }
 
+  /**
+   * Sends this message, leaving its trailing bytes in the comm buffer so that they are written
+   * together with subsequent messages. {@link #flush()} must be invoked once the last message of
+   * the batch has been sent.
+   */
+  void sendCoalesced() throws IOException {
+    sendBytes(true, true);
+  }
+
   /**
    * Read a message, populating the state of this {@code Message} with information received via its
    * socket
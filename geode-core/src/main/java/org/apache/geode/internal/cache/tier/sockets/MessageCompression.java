@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import org.apache.geode.annotations.Immutable;
+import org.apache.geode.annotations.VisibleForTesting;
+import org.apache.geode.compression.Compressor;
+import org.apache.geode.compression.SnappyCompressor;
+import org.apache.geode.distributed.internal.DistributionStats;
+import org.apache.geode.internal.cache.tier.CommunicationMode;
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * Compression of large {@link Part}s on client/server connections. A client asks for it by setting
+ * {@link #REQUEST_OVERRIDE_BIT} in the overrides byte of its handshake and the server accepts by
+ * setting {@link #ACCEPTED_ENDPOINT_TYPE_BIT} in the endpoint type byte of its reply. Older members
+ * ignore the request bit and never set the reply bit, so compression is only used when both ends
+ * enabled it with the {@link #ENABLED_PROPERTY} system property. The
+ * {@link #GATEWAY_ENABLED_PROPERTY} system property enables it for gateway sender connections only,
+ * where it saves the most bandwidth.
+ *
+ * @since Geode 1.15
+ */
+public class MessageCompression {
+
+  public static final String ENABLED_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "Message.compression";
+
+  public static final String GATEWAY_ENABLED_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "Message.gatewayCompression";
+
+  public static final String THRESHOLD_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "Message.compressionThreshold";
+
+  /**
+   * Parts smaller than this are never compressed.
+   */
+  public static final int DEFAULT_THRESHOLD = 4096;
+
+  /**
+   * Bit of the handshake overrides byte with which a client requests compression. The two lowest
+   * bits hold the client conflation setting.
+   */
+  public static final byte REQUEST_OVERRIDE_BIT = 0x04;
+
+  /**
+   * Bit of the handshake reply endpoint type byte with which a server accepts compression.
+   */
+  public static final byte ACCEPTED_ENDPOINT_TYPE_BIT = 0x40;
+
+  @Immutable
+  private static final MessageCompression INSTANCE =
+      new MessageCompression(Boolean.getBoolean(ENABLED_PROPERTY),
+          Boolean.getBoolean(GATEWAY_ENABLED_PROPERTY),
+          Integer.getInteger(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD), new SnappyCompressor());
+
+  private final boolean enabled;
+
+  private final boolean gatewayEnabled;
+
+  private final int threshold;
+
+  private final Compressor compressor;
+
+  @VisibleForTesting
+  MessageCompression(boolean enabled, int threshold, Compressor compressor) {
+    this(enabled, false, threshold, compressor);
+  }
+
+  @VisibleForTesting
+  MessageCompression(boolean enabled, boolean gatewayEnabled, int threshold,
+      Compressor compressor) {
+    this.enabled = enabled;
+    this.gatewayEnabled = gatewayEnabled;
+    this.threshold = threshold;
+    this.compressor = compressor;
+  }
+
+  public static MessageCompression getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns true if this member requests or accepts compression on its connections.
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns true if this member requests or accepts compression on connections of the given mode.
+   */
+  public boolean isEnabled(CommunicationMode communicationMode) {
+    return enabled || (gatewayEnabled && communicationMode.isWAN());
+  }
+
+  int getThreshold() {
+    return threshold;
+  }
+
+  /**
+   * Returns the compressed form of the given bytes, or null if compressing did not make them
+   * smaller.
+   */
+  byte[] compress(byte[] bytes, MessageStats stats) {
+    long start = DistributionStats.getStatTime();
+    byte[] compressed = compressor.compress(bytes);
+    if (stats != null) {
+      stats.incCompressedParts(bytes.length, compressed.length,
+          DistributionStats.getStatTime() - start);
+    }
+    return compressed.length < bytes.length ? compressed : null;
+  }
+
+  byte[] decompress(byte[] bytes, MessageStats stats) {
+    long start = DistributionStats.getStatTime();
+    byte[] decompressed = compressor.decompress(bytes);
+    if (stats != null) {
+      stats.incDecompressedParts(DistributionStats.getStatTime() - start);
+    }
+    return decompressed;
+  }
+}
@@ -21,8 +21,10 @@ import java.net.Socket;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -50,6 +52,7 @@ import org.apache.geode.internal.serialization.ByteArrayDataInput;
 import org.apache.geode.internal.statistics.StatisticsClock;
 import org.apache.geode.logging.internal.executors.LoggingThread;
 import org.apache.geode.logging.internal.log4j.api.LogService;
+import org.apache.geode.util.internal.GeodeGlossary;
 
 /**
  * Class <code>MessageDispatcher</code> is a <code>Thread</code> that processes messages bound for
@@ -69,6 +72,21 @@ public class MessageDispatcher extends LoggingThread {
    */
   private static final String KEY_SLOW_START_TIME_FOR_TESTING = "slowStartTimeForTesting";
 
+  /**
+   * The maximum number of queued messages that are written to the client with a single flush of
+   * the subscription socket. The default of one sends and flushes every message individually.
+   */
+  private static final int DISPATCH_BATCH_SIZE =
+      Integer.getInteger(GeodeGlossary.GEMFIRE_PREFIX + "CacheClientProxy.dispatchBatchSize", 1);
+
+  /**
+   * Whether an update to a key is dropped from a dispatch batch when a later message in the same
+   * batch carries a full value for that key.
+   */
+  @VisibleForTesting
+  static final boolean DISPATCH_BATCH_CONFLATION =
+      Boolean.getBoolean(GeodeGlossary.GEMFIRE_PREFIX + "CacheClientProxy.dispatchBatchConflation");
+
   /**
    * The queue of messages to be sent to the client
    */
@@ -86,6 +104,11 @@ public class MessageDispatcher extends LoggingThread {
    */
   private final CacheClientProxy _proxy;
 
+  /**
+   * The maximum number of messages written with a single flush, see {@link #DISPATCH_BATCH_SIZE}
+   */
+  private final int dispatchBatchSize;
+
   // /**
   // * The conflator faciliates message conflation
   // */
@@ -127,6 +150,7 @@ public class MessageDispatcher extends LoggingThread {
     super(name);
 
     _proxy = proxy;
+    dispatchBatchSize = DISPATCH_BATCH_SIZE;
 
     // Create the event conflator
     // this._eventConflator = new BridgeEventConflator
@@ -167,6 +191,18 @@ public class MessageDispatcher extends LoggingThread {
     }
   }
 
+  /**
+   * Creates a running dispatcher for the given queue that is not attached to a dispatcher thread.
+   */
+  @VisibleForTesting
+  MessageDispatcher(CacheClientProxy proxy, HARegionQueue messageQueue, int dispatchBatchSize) {
+    super("Test Message Dispatcher");
+    _proxy = proxy;
+    _messageQueue = messageQueue;
+    this.dispatchBatchSize = dispatchBatchSize;
+    _isStopped = false;
+  }
+
   private CacheClientProxy getProxy() {
     return _proxy;
   }
@@ -371,7 +407,9 @@ public class MessageDispatcher extends LoggingThread {
         if (isStopped()) {
           break;
         }
-        if (clientMessage != null) {
+        if (clientMessage != null && dispatchBatchSize > 1) {
+          dispatchBatch(clientMessage);
+        } else if (clientMessage != null) {
           // Process the message
           long start = getStatistics().startTime();
           //// BUGFIX for BUG#38206 and BUG#37791
@@ -554,6 +592,161 @@ public class MessageDispatcher extends LoggingThread {
     }
   }
 
+  /**
+   * Takes the given message and any further messages immediately available in the queue, up to
+   * {@link #dispatchBatchSize}, and writes them to the client with a single flush of the
+   * subscription socket. The messages are only peeked while the batch is built and are removed
+   * from the queue once the batch has been flushed, so that a paused proxy or a failed write
+   * leaves them in the queue just like {@link #dispatchMessage} does.
+   *
+   * @param firstMessage The message already peeked from the queue
+   */
+  @VisibleForTesting
+  void dispatchBatch(ClientMessage firstMessage)
+      throws IOException, InterruptedException {
+    List<ClientMessage> batch = peekBatch(firstMessage);
+    int batchSize = batch.size();
+    boolean containsMarker = false;
+    for (ClientMessage clientMessage : batch) {
+      if (clientMessage instanceof ClientMarkerMessageImpl) {
+        containsMarker = true;
+        break;
+      }
+    }
+
+    if (_proxy.isPaused()) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Message Dispatcher of a Paused CCProxy is trying to dispatch a batch");
+      }
+      // the batch stays in the queue and is peeked again once the proxy resumes
+      _messageQueue.clearPeekedIDs();
+      return;
+    }
+
+    if (DISPATCH_BATCH_CONFLATION) {
+      int conflated = conflateBatch(batch, getProxy().getProxyID());
+      if (conflated > 0) {
+        getStatistics().incMessagesConflatedInBatch(conflated);
+      }
+    }
+
+    socketWriteLock.lock();
+    try {
+      Message lastSent = null;
+      for (ClientMessage next : batch) {
+        long start = getStatistics().startTime();
+        try {
+          Message message = createMessage(next);
+          if (message != null) {
+            message.setComms(getSocket(), getCommBuffer(), getStatistics());
+            message.sendCoalesced();
+            lastSent = message;
+          }
+        } catch (MessageTooLargeException e) {
+          logger.warn("Message too large to send to client: {}, {}", next, e.getMessage());
+          continue;
+        } catch (CancelException | IOException e) {
+          throw e;
+        } catch (Exception e) {
+          logger.fatal(String.format("%s : An unexpected Exception occurred", this), e);
+          continue;
+        }
+        getStatistics().endMessage(start);
+        _messageQueue.getStatistics().incEventsDispatched();
+      }
+      if (lastSent != null) {
+        lastSent.flush();
+        getProxy().resetPingCounter();
+      }
+      getStatistics().incMessageBatchesSent();
+    } finally {
+      socketWriteLock.unlock();
+    }
+    // every message peeked for the batch, including conflated ones, is removed at once
+    _messageQueue.remove();
+    if (containsMarker) {
+      getProxy().setMarkerEnqueued(false);
+    }
+    if (logger.isTraceEnabled()) {
+      logger.trace("{}: Dispatched batch of {} messages", this, batchSize);
+    }
+  }
+
+  /**
+   * Peeks the batch starting with the given message, which has already been peeked. Every message
+   * of the batch is recorded by the queue so that a single {@code remove()} removes all of them.
+   */
+  @SuppressWarnings("unchecked")
+  private List<ClientMessage> peekBatch(ClientMessage firstMessage)
+      throws InterruptedException {
+    if (!_messageQueue.isPeekAdvancing()) {
+      // peek() keeps returning the head of this queue, so the whole batch, which starts with the
+      // message already peeked, is peeked again in one go.
+      _messageQueue.clearPeekedIDs();
+      return (List<ClientMessage>) _messageQueue.peek(dispatchBatchSize, -1);
+    }
+    // This queue moves each peeked message aside until the client acknowledges it, which only
+    // peek() does.
+    List<ClientMessage> batch = new ArrayList<>(dispatchBatchSize);
+    ClientMessage clientMessage = firstMessage;
+    while (clientMessage != null) {
+      batch.add(clientMessage);
+      if (batch.size() >= dispatchBatchSize || _messageQueue.isEmpty() || isStopped()) {
+        break;
+      }
+      clientMessage = (ClientMessage) _messageQueue.peek();
+    }
+    return batch;
+  }
+
+  /**
+   * Removes from the batch every create or update that is superseded by a later message in the
+   * same batch carrying a full value for the same key. Messages associated with CQs of the client
+   * are never removed or used to remove others, since each of them may be needed by a different
+   * CQ.
+   *
+   * @return the number of messages removed from the batch
+   */
+  @VisibleForTesting
+  static int conflateBatch(List<ClientMessage> batch, ClientProxyMembershipID clientId) {
+    Map<String, Map<Object, Integer>> latestIndexes = new HashMap<>();
+    for (int i = 0; i < batch.size(); i++) {
+      ClientUpdateMessageImpl update = conflatableUpdate(batch.get(i), clientId);
+      if (update != null && !update.hasDeltaBytes()) {
+        latestIndexes.computeIfAbsent(update.getRegionName(), k -> new HashMap<>())
+            .put(update.getKeyOfInterest(), i);
+      }
+    }
+    int conflated = 0;
+    int index = 0;
+    for (Iterator<ClientMessage> itr = batch.iterator(); itr.hasNext(); index++) {
+      ClientUpdateMessageImpl update = conflatableUpdate(itr.next(), clientId);
+      if (update == null) {
+        continue;
+      }
+      Map<Object, Integer> keys = latestIndexes.get(update.getRegionName());
+      Integer latest = keys == null ? null : keys.get(update.getKeyOfInterest());
+      if (latest != null && latest > index) {
+        itr.remove();
+        conflated++;
+      }
+    }
+    return conflated;
+  }
+
+  private static ClientUpdateMessageImpl conflatableUpdate(ClientMessage clientMessage,
+      ClientProxyMembershipID clientId) {
+    if (!(clientMessage instanceof ClientUpdateMessageImpl)) {
+      return null;
+    }
+    ClientUpdateMessageImpl update = (ClientUpdateMessageImpl) clientMessage;
+    if (!(update.isCreate() || update.isUpdate()) || update.getKeyOfInterest() == null
+        || update.hasCqs(clientId)) {
+      return null;
+    }
+    return update;
+  }
+
   /**
    * Sends a message to the client attached to this proxy
    *
@@ -562,6 +755,27 @@ public class MessageDispatcher extends LoggingThread {
    */
   protected boolean dispatchMessage(ClientMessage clientMessage) throws IOException {
     boolean isDispatched = false;
+    final Message message = createMessage(clientMessage);
+
+    if (!_proxy.isPaused()) {
+      sendMessage(message);
+
+      if (logger.isTraceEnabled()) {
+        logger.trace("{}: Dispatched {}", this, clientMessage);
+      }
+      isDispatched = true;
+    } else {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Message Dispatcher of a Paused CCProxy is trying to dispatch message");
+      }
+    }
+    if (isDispatched) {
+      _messageQueue.getStatistics().incEventsDispatched();
+    }
+    return isDispatched;
+  }
+
+  private Message createMessage(ClientMessage clientMessage) throws IOException {
     if (logger.isTraceEnabled(LogMarker.BRIDGE_SERVER_VERBOSE)) {
       logger.trace(LogMarker.BRIDGE_SERVER_VERBOSE, "Dispatching {}", clientMessage);
     }
@@ -590,23 +804,7 @@ public class MessageDispatcher extends LoggingThread {
     } else {
       message = clientMessage.getMessage(getProxy(), true /* notify */);
     }
-
-    if (!_proxy.isPaused()) {
-      sendMessage(message);
-
-      if (logger.isTraceEnabled()) {
-        logger.trace("{}: Dispatched {}", this, clientMessage);
-      }
-      isDispatched = true;
-    } else {
-      if (logger.isDebugEnabled()) {
-        logger.debug("Message Dispatcher of a Paused CCProxy is trying to dispatch message");
-      }
-    }
-    if (isDispatched) {
-      _messageQueue.getStatistics().incEventsDispatched();
-    }
-    return isDispatched;
+    return message;
   }
 
   private void sendMessage(Message message) throws IOException {
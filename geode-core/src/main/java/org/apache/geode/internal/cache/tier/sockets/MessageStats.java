@@ -28,4 +28,14 @@ public interface MessageStats {
   void incMessagesBeingReceived(int bytes);
 
   void decMessagesBeingReceived(int bytes);
+
+  /**
+   * Records a part compressed before being sent.
+   */
+  default void incCompressedParts(long uncompressedBytes, long compressedBytes, long time) {}
+
+  /**
+   * Records a compressed part decompressed after being received.
+   */
+  default void incDecompressedParts(long time) {}
 }
@@ -52,6 +52,12 @@ public class Part {
    * @since GemFire 5.1
    */
   private static final byte EMPTY_BYTEARRAY_CODE = 2;
+
+  /**
+   * Set in the type code of a part whose payload was compressed before being sent. It is only ever
+   * sent on connections that negotiated wire compression during the handshake.
+   */
+  static final byte COMPRESSED_FLAG = 0x10;
   @Immutable
   private static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
 
@@ -370,6 +376,47 @@ public class Part {
     }
   }
 
+  /**
+   * Returns a new part holding the compressed payload of this part, with {@link #COMPRESSED_FLAG}
+   * set in its type code, or null if this part is smaller than the threshold, is off-heap or does
+   * not get smaller when compressed. This part is not modified so that the message can still be
+   * sent uncompressed on another connection.
+   */
+  Part compress(MessageCompression compression, MessageStats stats) {
+    if (getLength() < compression.getThreshold()) {
+      return null;
+    }
+    final byte[] bytes;
+    if (this.part instanceof byte[]) {
+      bytes = (byte[]) this.part;
+    } else if (this.part instanceof HeapDataOutputStream) {
+      bytes = ((HeapDataOutputStream) this.part).toByteArray();
+    } else {
+      return null;
+    }
+    byte[] compressed = compression.compress(bytes, stats);
+    if (compressed == null) {
+      return null;
+    }
+    Part result = new Part();
+    result.part = compressed;
+    result.typeCode = (byte) (this.typeCode | COMPRESSED_FLAG);
+    return result;
+  }
+
+  /**
+   * Returns a direct buffer that views the off-heap payload of this part without copying it, or
+   * null if the payload is not off-heap. Heap payloads are not exposed because a channel write of a
+   * heap buffer copies it into a temporary direct buffer as large as the payload, which the JDK
+   * then caches per thread.
+   */
+  ByteBuffer getPayloadBuffer() {
+    if (this.part instanceof StoredObject) {
+      return ((StoredObject) this.part).createDirectByteBuffer();
+    }
+    return null;
+  }
+
   /**
    * Write the contents of this part to the specified output stream. This is only called for parts
    * that will not fit into the commBuffer so they need to be written directly to the stream. A
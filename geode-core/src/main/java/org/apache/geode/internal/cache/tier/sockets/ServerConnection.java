@@ -500,6 +500,17 @@ public class ServerConnection implements Runnable {
     executeFunctionResponseMessage.setVersion(v);
     registerInterestResponseMessage.setVersion(v);
     keySetResponseMessage.setVersion(v);
+
+    boolean compressParts = handshake.isWireCompressionEnabled();
+    replyMessage.setCompressParts(compressParts);
+    responseMessage.setCompressParts(compressParts);
+    errorMessage.setCompressParts(compressParts);
+
+    queryResponseMessage.setCompressParts(compressParts);
+    chunkedResponseMessage.setCompressParts(compressParts);
+    executeFunctionResponseMessage.setCompressParts(compressParts);
+    registerInterestResponseMessage.setCompressParts(compressParts);
+    keySetResponseMessage.setCompressParts(compressParts);
   }
 
   void setRequestMessage(Message requestMessage) {
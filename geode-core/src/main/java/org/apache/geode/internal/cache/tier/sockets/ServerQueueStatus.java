@@ -38,6 +38,8 @@ public class ServerQueueStatus {
   private DistributedMember memberId = null;
   /** size of the PDX registry on the server. Currently only set for gateways */
   private int pdxSize = 0;
+  /** whether large message parts are compressed on this connection */
+  private boolean wireCompressionEnabled = false;
 
   /**
    * Constructor Called when connectionsPerServer is nto equal to 0
@@ -90,6 +92,17 @@ public class ServerQueueStatus {
     return this.qSize;
   }
 
+  /**
+   * returns true if the server accepted compression of large message parts on this connection
+   */
+  public boolean isWireCompressionEnabled() {
+    return this.wireCompressionEnabled;
+  }
+
+  public void setWireCompressionEnabled(boolean wireCompressionEnabled) {
+    this.wireCompressionEnabled = wireCompressionEnabled;
+  }
+
   /** returns the time between server-to-client ping messages on idle subscription connections */
   public int getPingInterval() {
     if (this.pingInterval < 0) {
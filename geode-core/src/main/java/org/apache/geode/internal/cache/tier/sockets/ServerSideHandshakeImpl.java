@@ -48,6 +48,8 @@ public class ServerSideHandshakeImpl extends Handshake implements ServerSideHand
       ServerSideHandshakeFactory.currentServerVersion;
   private final KnownVersion clientVersion;
 
+  private final CommunicationMode communicationMode;
+
   private final byte replyCode;
 
   @Override
@@ -64,6 +66,7 @@ public class ServerSideHandshakeImpl extends Handshake implements ServerSideHand
       throws IOException, AuthenticationRequiredException {
 
     this.clientVersion = clientVersion;
+    this.communicationMode = communicationMode;
     system = sys;
     this.securityService = securityService;
     encryptor = new EncryptorImpl(sys.getSecurityLogWriter());
@@ -150,7 +153,11 @@ public class ServerSideHandshakeImpl extends Handshake implements ServerSideHand
       VersioningIO.writeOrdinal(dos, currentServerVersion.ordinal(), true);
     }
 
-    dos.writeByte(endpointType);
+    if (isWireCompressionEnabled()) {
+      dos.writeByte(endpointType | MessageCompression.ACCEPTED_ENDPOINT_TYPE_BIT);
+    } else {
+      dos.writeByte(endpointType);
+    }
     dos.writeInt(queueSize);
 
     // Write the server's member
@@ -197,6 +204,12 @@ public class ServerSideHandshakeImpl extends Handshake implements ServerSideHand
     return encryptor;
   }
 
+  @Override
+  public boolean isWireCompressionEnabled() {
+    return wireCompressionRequested
+        && MessageCompression.getInstance().isEnabled(communicationMode);
+  }
+
   private void sendCredentialsForWan(OutputStream out, InputStream in) {
     try {
       Properties wanCredentials = getCredentials(id.getDistributedMember());
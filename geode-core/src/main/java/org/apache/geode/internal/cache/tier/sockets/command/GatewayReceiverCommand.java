@@ -14,12 +14,28 @@
  */
 package org.apache.geode.internal.cache.tier.sockets.command;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
+
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.apache.shiro.subject.Subject;
+import org.apache.shiro.util.ThreadContext;
+import org.apache.shiro.util.ThreadState;
 
 import org.apache.geode.CancelException;
 import org.apache.geode.annotations.Immutable;
+import org.apache.geode.annotations.VisibleForTesting;
 import org.apache.geode.cache.EntryNotFoundException;
 import org.apache.geode.cache.RegionDestroyedException;
 import org.apache.geode.cache.operations.DestroyOperationContext;
@@ -47,24 +63,51 @@ import org.apache.geode.internal.security.AuthorizeRequest;
 import org.apache.geode.internal.security.SecurityService;
 import org.apache.geode.internal.serialization.KnownVersion;
 import org.apache.geode.internal.util.BlobHelper;
+import org.apache.geode.logging.internal.executors.LoggingExecutors;
 import org.apache.geode.pdx.PdxConfigurationException;
 import org.apache.geode.pdx.PdxRegistryMismatchException;
 import org.apache.geode.pdx.internal.EnumId;
 import org.apache.geode.pdx.internal.EnumInfo;
 import org.apache.geode.pdx.internal.PdxType;
 import org.apache.geode.pdx.internal.PeerTypeRegistration;
+import org.apache.geode.util.internal.GeodeGlossary;
 
 public class GatewayReceiverCommand extends BaseCommand {
 
+  /**
+   * The number of threads applying the events of a batch in parallel. Events are grouped by the
+   * hash of their region and key, so the updates of a key are still applied in the order they were
+   * sent, and the batch is acknowledged once every group has been applied. PDX types at the start
+   * of a batch are always applied first. With the default of 0, or 1, each batch is applied in
+   * order by the server connection thread that received it.
+   */
+  private static final int PARALLEL_APPLY_THREADS =
+      Integer.getInteger(GeodeGlossary.GEMFIRE_PREFIX + "GatewayReceiver.PARALLEL_APPLY_THREADS", 0);
+
   @Immutable
-  private static final GatewayReceiverCommand SINGLETON = new GatewayReceiverCommand();
+  private static final GatewayReceiverCommand SINGLETON =
+      new GatewayReceiverCommand(PARALLEL_APPLY_THREADS,
+          PARALLEL_APPLY_THREADS > 1 ? createParallelApplyExecutor(PARALLEL_APPLY_THREADS) : null);
+
+  private final int parallelApplyThreads;
+
+  private final ExecutorService parallelApplyExecutor;
 
   public static Command getCommand() {
     return SINGLETON;
   }
 
-  private GatewayReceiverCommand() {
-    // nothing
+  @VisibleForTesting
+  GatewayReceiverCommand(int parallelApplyThreads, ExecutorService parallelApplyExecutor) {
+    this.parallelApplyThreads = parallelApplyThreads;
+    this.parallelApplyExecutor = parallelApplyExecutor;
+  }
+
+  private static ExecutorService createParallelApplyExecutor(int threads) {
+    ThreadPoolExecutor executor = LoggingExecutors.newFixedThreadPool(threads, 60, SECONDS,
+        new LinkedBlockingQueue<>(), "GatewayReceiverBatchApplier", true);
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
   }
 
   private void handleRegionNull(ServerConnection servConn, String regionName, int batchId) {
@@ -80,7 +123,6 @@ public class GatewayReceiverCommand extends BaseCommand {
   @Override
   public void cmdExecute(final Message clientMessage, final ServerConnection serverConnection,
       final SecurityService securityService, long start) throws IOException, InterruptedException {
-    CachedRegionHelper crHelper = serverConnection.getCachedRegionHelper();
     GatewayReceiverStats stats = (GatewayReceiverStats) serverConnection.getCacheServerStats();
 
     {
@@ -147,361 +189,502 @@ public class GatewayReceiverCommand extends BaseCommand {
     // event received in batch also have PDX events at the start of the batch,to
     // represent correct index on which the exception occurred, number of PDX
     // events need to be subtracted.
-    int indexWithoutPDXEvent = -1; //
-    Part valuePart = null;
-    Throwable fatalException = null;
-    List<BatchException70> exceptions = new ArrayList<>();
-    for (int i = 0; i < numberOfEvents; i++) {
-      indexWithoutPDXEvent++;
+    List<BatchEvent> events = locateEvents(clientMessage, partNumber, numberOfEvents);
+    BatchResult batchResult = new BatchResult();
+    try {
+      if (parallelApplyThreads > 1 && numberOfEvents > 1) {
+        applyEventsInParallel(clientMessage, serverConnection, securityService, stats, batchId,
+            numberOfEvents, dsid, removeOnException, events, batchResult);
+      } else {
+        for (BatchEvent event : events) {
+          applyEvent(clientMessage, serverConnection, stats, batchId, numberOfEvents, dsid,
+              removeOnException, event, batchResult);
+          if (batchResult.fatalException != null) {
+            break;
+          }
+        }
+      }
+    } catch (CancelException e) {
+      if (logger.isDebugEnabled()) {
+        logger.debug(
+            "{} ignoring message of type {} from client {} because shutdown occurred during message processing.",
+            serverConnection.getName(), MessageType.getString(clientMessage.getMessageType()),
+            serverConnection.getProxyID());
+      }
+      serverConnection.setFlagProcessMessagesAsFalse();
+      serverConnection.setClientDisconnectedException(e);
+      return;
+    } finally {
+      batchResult.updateModificationInfo(serverConnection);
+    }
+    Throwable fatalException = batchResult.fatalException;
+    List<BatchException70> exceptions = new ArrayList<>(batchResult.exceptions);
+    exceptions.sort(Comparator.comparingInt(BatchException70::getIndex));
 
-      Part actionTypePart = clientMessage.getPart(partNumber);
-      int actionType = actionTypePart.getInt();
+    {
+      long oldStart = start;
+      start = DistributionStats.getStatTime();
+      stats.incProcessBatchTime(start - oldStart);
+    }
+    if (fatalException != null) {
+      serverConnection.incrementLatestBatchIdReplied(batchId);
+      writeFatalException(clientMessage, fatalException, serverConnection, batchId);
+      serverConnection.setAsTrue(RESPONDED);
+    } else if (!exceptions.isEmpty()) {
+      serverConnection.incrementLatestBatchIdReplied(batchId);
+      writeBatchException(clientMessage, exceptions, serverConnection, batchId);
+      serverConnection.setAsTrue(RESPONDED);
+    } else {
+      // Increment the batch id unless the received batch id is -1 (a failover
+      // batch)
+      serverConnection.incrementLatestBatchIdReplied(batchId);
 
-      boolean callbackArgExists = false;
+      writeReply(clientMessage, serverConnection, batchId, numberOfEvents);
+      serverConnection.setAsTrue(RESPONDED);
+      stats.incWriteProcessBatchResponseTime(DistributionStats.getStatTime() - start);
+      if (logger.isDebugEnabled()) {
+        logger.debug(
+            "{}: Sent process batch normal response for batch {} containing {} events ({} bytes) with {} acknowledgement on {}",
+            serverConnection.getName(), batchId, numberOfEvents, clientMessage.getPayloadLength(),
+            "normal", serverConnection.getSocketString());
+      }
+    }
+  }
 
-      try {
-        boolean isPdxEvent = false;
-        boolean retry = true;
-        do {
-          if (isPdxEvent) {
-            // This is a retried event. Reset the PDX event index.
-            indexWithoutPDXEvent++;
-          }
-          isPdxEvent = false;
-          Part possibleDuplicatePart = clientMessage.getPart(partNumber + 1);
-          byte[] possibleDuplicatePartBytes;
-          try {
-            possibleDuplicatePartBytes = (byte[]) possibleDuplicatePart.getObject();
-          } catch (Exception e) {
-            logger.warn(String.format(
-                "%s: Caught exception processing batch request %s containing %s events",
-                serverConnection.getName(), batchId, numberOfEvents), e);
-            handleException(removeOnException, stats, e);
-            break;
-          }
-          boolean possibleDuplicate = possibleDuplicatePartBytes[0] == 0x01;
-
-          // Make sure instance variables are null before each iteration
-          String regionName = null;
-          Object key = null;
-          Object callbackArg = null;
-
-          // Retrieve the region name from the message parts
-          Part regionNamePart = clientMessage.getPart(partNumber + 2);
-          regionName = regionNamePart.getCachedString();
-          if (regionName.equals(PeerTypeRegistration.REGION_FULL_PATH)) {
-            indexWithoutPDXEvent--;
-            isPdxEvent = true;
-          }
+  /**
+   * Applies the event whose parts start at the given part number, retrying it unless
+   * removeOnException is set. Exceptions are recorded in the batch result rather than thrown.
+   */
+  private void applyEvent(Message clientMessage, ServerConnection serverConnection,
+      GatewayReceiverStats stats, int batchId, int numberOfEvents, int dsid,
+      boolean removeOnException, BatchEvent event, BatchResult batchResult)
+      throws InterruptedException, InterruptedIOException {
+    CachedRegionHelper crHelper = serverConnection.getCachedRegionHelper();
+    int partNumber = event.partNumber;
+    int actionType = clientMessage.getPart(partNumber).getInt();
+    try {
+      boolean retry = true;
+      do {
+        Part possibleDuplicatePart = clientMessage.getPart(partNumber + 1);
+        byte[] possibleDuplicatePartBytes;
+        try {
+          possibleDuplicatePartBytes = (byte[]) possibleDuplicatePart.getObject();
+        } catch (Exception e) {
+          logger.warn(String.format(
+              "%s: Caught exception processing batch request %s containing %s events",
+              serverConnection.getName(), batchId, numberOfEvents), e);
+          handleException(removeOnException, stats, e);
+          break;
+        }
+        boolean possibleDuplicate = possibleDuplicatePartBytes[0] == 0x01;
 
-          // Retrieve the event id from the message parts
-          // This was going to be used to determine possible
-          // duplication of events, but it is unused now. In
-          // fact the event id is overridden by the FROM_GATEWAY
-          // token.
-          Part eventIdPart = clientMessage.getPart(partNumber + 3);
-          eventIdPart.setVersion(serverConnection.getClientVersion());
-          // String eventId = eventIdPart.getString();
-          EventID eventId;
-          try {
-            eventId = (EventID) eventIdPart.getObject();
-          } catch (Exception e) {
-            logger.warn(String.format(
-                "%s: Caught exception processing batch request %s containing %s events",
-                serverConnection.getName(), batchId, numberOfEvents), e);
-            handleException(removeOnException, stats, e);
-            break;
-          }
+        // Make sure instance variables are null before each iteration
+        String regionName = null;
+        Object key = null;
+        Object callbackArg = null;
+        Part valuePart = null;
+        boolean callbackArgExists;
 
-          // Retrieve the key from the message parts
-          Part keyPart = clientMessage.getPart(partNumber + 4);
-          try {
-            key = keyPart.getStringOrObject();
-          } catch (Exception e) {
-            logger.warn(String.format(
-                "%s: Caught exception processing batch request %s containing %s events",
-                serverConnection.getName(), batchId, numberOfEvents), e);
-            handleException(removeOnException, stats, e);
-            break;
-          }
-          int index;
-          Part callbackArgPart;
-          EventIDHolder clientEvent;
-          long versionTimeStamp;
-          Part callbackArgExistsPart;
-          LocalRegion region;
-          switch (actionType) {
-            case 0: // Create
-              try {
-
-                /*
-                 * CLIENT EXCEPTION HANDLING TESTING CODE String keySt = (String) key;
-                 * System.out.println("Processing new key: " + key); if
-                 * (keySt.startsWith("failure")) { throw new Exception(LocalizedStrings
-                 * .ProcessBatch_THIS_EXCEPTION_REPRESENTS_A_FAILURE_ON_THE_SERVER
-                 * )); }
-                 */
-
-                // Retrieve the value from the message parts (do not deserialize it)
-                valuePart = clientMessage.getPart(partNumber + 5);
-                // try {
-                // logger.warn(getName() + ": Creating key " + key + " value " +
-                // valuePart.getObject());
-                // } catch (Exception e) {}
-
-                // Retrieve the callbackArg from the message parts if necessary
-                index = partNumber + 6;
-                callbackArgExistsPart = clientMessage.getPart(index++);
-                {
-                  byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
-                  callbackArgExists = partBytes[0] == 0x01;
+        // Retrieve the region name from the message parts
+        Part regionNamePart = clientMessage.getPart(partNumber + 2);
+        regionName = regionNamePart.getCachedString();
+        boolean isPdxEvent = regionName.equals(PeerTypeRegistration.REGION_FULL_PATH);
+
+        // Retrieve the event id from the message parts
+        // This was going to be used to determine possible
+        // duplication of events, but it is unused now. In
+        // fact the event id is overridden by the FROM_GATEWAY
+        // token.
+        Part eventIdPart = clientMessage.getPart(partNumber + 3);
+        eventIdPart.setVersion(serverConnection.getClientVersion());
+        // String eventId = eventIdPart.getString();
+        EventID eventId;
+        try {
+          eventId = (EventID) eventIdPart.getObject();
+        } catch (Exception e) {
+          logger.warn(String.format(
+              "%s: Caught exception processing batch request %s containing %s events",
+              serverConnection.getName(), batchId, numberOfEvents), e);
+          handleException(removeOnException, stats, e);
+          break;
+        }
+
+        // Retrieve the key from the message parts
+        Part keyPart = clientMessage.getPart(partNumber + 4);
+        try {
+          key = event.getKey(keyPart);
+        } catch (Exception e) {
+          logger.warn(String.format(
+              "%s: Caught exception processing batch request %s containing %s events",
+              serverConnection.getName(), batchId, numberOfEvents), e);
+          handleException(removeOnException, stats, e);
+          break;
+        }
+        int index;
+        Part callbackArgPart;
+        EventIDHolder clientEvent;
+        long versionTimeStamp;
+        Part callbackArgExistsPart;
+        LocalRegion region;
+        switch (actionType) {
+          case 0: // Create
+            try {
+
+              /*
+               * CLIENT EXCEPTION HANDLING TESTING CODE String keySt = (String) key;
+               * System.out.println("Processing new key: " + key); if
+               * (keySt.startsWith("failure")) { throw new Exception(LocalizedStrings
+               * .ProcessBatch_THIS_EXCEPTION_REPRESENTS_A_FAILURE_ON_THE_SERVER
+               * )); }
+               */
+
+              // Retrieve the value from the message parts (do not deserialize it)
+              valuePart = clientMessage.getPart(partNumber + 5);
+              // try {
+              // logger.warn(getName() + ": Creating key " + key + " value " +
+              // valuePart.getObject());
+              // } catch (Exception e) {}
+
+              // Retrieve the callbackArg from the message parts if necessary
+              index = partNumber + 6;
+              callbackArgExistsPart = clientMessage.getPart(index++);
+              {
+                byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
+                callbackArgExists = partBytes[0] == 0x01;
+              }
+              if (callbackArgExists) {
+                callbackArgPart = clientMessage.getPart(index++);
+                try {
+                  callbackArg = callbackArgPart.getObject();
+                } catch (Exception e) {
+                  logger
+                      .warn(String.format(
+                          "%s: Caught exception processing batch create request %s for %s events",
+                          serverConnection.getName(), batchId, numberOfEvents),
+                          e);
+                  throw e;
                 }
-                if (callbackArgExists) {
-                  callbackArgPart = clientMessage.getPart(index++);
-                  try {
-                    callbackArg = callbackArgPart.getObject();
-                  } catch (Exception e) {
-                    logger
-                        .warn(String.format(
-                            "%s: Caught exception processing batch create request %s for %s events",
-                            serverConnection.getName(), batchId, numberOfEvents),
-                            e);
-                    throw e;
-                  }
+              }
+              if (logger.isDebugEnabled()) {
+                logger.debug(
+                    "{}: Processing batch create request {} on {} for region {} key {} value {} callbackArg {}, eventId={}",
+                    serverConnection.getName(), batchId, serverConnection.getSocketString(),
+                    regionName, key, valuePart, callbackArg, eventId);
+              }
+              versionTimeStamp = clientMessage.getPart(index++).getLong();
+              // Process the create request
+              if (key == null || regionName == null) {
+                String message = null;
+                if (key == null) {
+                  message = "%s: The input key for the batch create request %s is null";
                 }
-                if (logger.isDebugEnabled()) {
-                  logger.debug(
-                      "{}: Processing batch create request {} on {} for region {} key {} value {} callbackArg {}, eventId={}",
-                      serverConnection.getName(), batchId, serverConnection.getSocketString(),
-                      regionName, key, valuePart, callbackArg, eventId);
+                if (regionName == null) {
+                  message = "%s: The input region name for the batch create request %s is null";
                 }
-                versionTimeStamp = clientMessage.getPart(index++).getLong();
-                // Process the create request
-                if (key == null || regionName == null) {
-                  String message = null;
-                  if (key == null) {
-                    message = "%s: The input key for the batch create request %s is null";
-                  }
-                  if (regionName == null) {
-                    message = "%s: The input region name for the batch create request %s is null";
-                  }
-                  String s = String.format(message, serverConnection.getName(), batchId);
-                  logger.warn(s);
-                  throw new Exception(s);
+                String s = String.format(message, serverConnection.getName(), batchId);
+                logger.warn(s);
+                throw new Exception(s);
+              }
+              region = (LocalRegion) crHelper.getCacheForGatewayCommand().getRegion(regionName);
+              if (region == null) {
+                handleRegionNull(serverConnection, regionName, batchId);
+              } else {
+                clientEvent = new EventIDHolder(eventId);
+                if (versionTimeStamp > 0) {
+                  VersionTag tag = VersionTag.create(region.getVersionMember());
+                  tag.setIsGatewayTag(true);
+                  tag.setVersionTimeStamp(versionTimeStamp);
+                  tag.setDistributedSystemId(dsid);
+                  clientEvent.setVersionTag(tag);
                 }
-                region = (LocalRegion) crHelper.getCacheForGatewayCommand().getRegion(regionName);
-                if (region == null) {
-                  handleRegionNull(serverConnection, regionName, batchId);
+                clientEvent.setPossibleDuplicate(possibleDuplicate);
+                handleMessageRetry(region, clientEvent);
+                byte[] value = valuePart.getSerializedForm();
+                boolean isObject = valuePart.isObject();
+                // [sumedh] This should be done on client while sending
+                // since that is the WAN gateway
+                AuthorizeRequest authzRequest = serverConnection.getAuthzRequest();
+                if (authzRequest != null) {
+                  PutOperationContext putContext =
+                      authzRequest.putAuthorize(regionName, key, value, isObject, callbackArg);
+                  value = putContext.getSerializedValue();
+                  isObject = putContext.isObject();
+                }
+                // Attempt to create the entry
+                boolean result = false;
+                if (isPdxEvent) {
+                  result = addPdxType(crHelper, key, value);
                 } else {
-                  clientEvent = new EventIDHolder(eventId);
-                  if (versionTimeStamp > 0) {
-                    VersionTag tag = VersionTag.create(region.getVersionMember());
-                    tag.setIsGatewayTag(true);
-                    tag.setVersionTimeStamp(versionTimeStamp);
-                    tag.setDistributedSystemId(dsid);
-                    clientEvent.setVersionTag(tag);
-                  }
-                  clientEvent.setPossibleDuplicate(possibleDuplicate);
-                  handleMessageRetry(region, clientEvent);
-                  byte[] value = valuePart.getSerializedForm();
-                  boolean isObject = valuePart.isObject();
-                  // [sumedh] This should be done on client while sending
-                  // since that is the WAN gateway
-                  AuthorizeRequest authzRequest = serverConnection.getAuthzRequest();
-                  if (authzRequest != null) {
-                    PutOperationContext putContext =
-                        authzRequest.putAuthorize(regionName, key, value, isObject, callbackArg);
-                    value = putContext.getSerializedValue();
-                    isObject = putContext.isObject();
-                  }
-                  // Attempt to create the entry
-                  boolean result = false;
-                  if (isPdxEvent) {
-                    result = addPdxType(crHelper, key, value);
-                  } else {
-                    result = region.basicBridgeCreate(key, value, isObject, callbackArg,
-                        serverConnection.getProxyID(), false, clientEvent, false);
-                    // If the create fails (presumably because it already exists),
-                    // attempt to update the entry
-                    if (!result) {
-                      result = region.basicBridgePut(key, value, null, isObject, callbackArg,
-                          serverConnection.getProxyID(), false, clientEvent);
-                    }
+                  result = region.basicBridgeCreate(key, value, isObject, callbackArg,
+                      serverConnection.getProxyID(), false, clientEvent, false);
+                  // If the create fails (presumably because it already exists),
+                  // attempt to update the entry
+                  if (!result) {
+                    result = region.basicBridgePut(key, value, null, isObject, callbackArg,
+                        serverConnection.getProxyID(), false, clientEvent);
                   }
+                }
 
-                  if (result || clientEvent.isConcurrencyConflict()) {
-                    serverConnection.setModificationInfo(true, regionName, key);
-                    stats.incCreateRequest();
-                    retry = false;
-                  } else {
-                    // This exception will be logged in the catch block below
-                    throw new Exception(
-                        String.format(
-                            "%s: Failed to create or update entry for region %s key %s value %s callbackArg %s",
-                            serverConnection.getName(), regionName, key, valuePart, callbackArg));
-                  }
+                if (result || clientEvent.isConcurrencyConflict()) {
+                  batchResult.setModificationInfo(regionName, key);
+                  stats.incCreateRequest();
+                  retry = false;
+                } else {
+                  // This exception will be logged in the catch block below
+                  throw new Exception(
+                      String.format(
+                          "%s: Failed to create or update entry for region %s key %s value %s callbackArg %s",
+                          serverConnection.getName(), regionName, key, valuePart, callbackArg));
                 }
-              } catch (Exception e) {
-                logger.warn(String.format(
-                    "%s: Caught exception processing batch create request %s for %s events",
-                    serverConnection.getName(), batchId, numberOfEvents), e);
-                handleException(removeOnException, stats, e);
               }
-              break;
+            } catch (Exception e) {
+              logger.warn(String.format(
+                  "%s: Caught exception processing batch create request %s for %s events",
+                  serverConnection.getName(), batchId, numberOfEvents), e);
+              handleException(removeOnException, stats, e);
+            }
+            break;
 
-            case 1: // Update
-              try {
-                // Retrieve the value from the message parts (do not deserialize it)
-                valuePart = clientMessage.getPart(partNumber + 5);
-                // try {
-                // logger.warn(getName() + ": Updating key " + key + " value " +
-                // valuePart.getObject());
-                // } catch (Exception e) {}
-
-                // Retrieve the callbackArg from the message parts if necessary
-                index = partNumber + 6;
-                callbackArgExistsPart = clientMessage.getPart(index++);
-                {
-                  byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
-                  callbackArgExists = partBytes[0] == 0x01;
+          case 1: // Update
+            try {
+              // Retrieve the value from the message parts (do not deserialize it)
+              valuePart = clientMessage.getPart(partNumber + 5);
+              // try {
+              // logger.warn(getName() + ": Updating key " + key + " value " +
+              // valuePart.getObject());
+              // } catch (Exception e) {}
+
+              // Retrieve the callbackArg from the message parts if necessary
+              index = partNumber + 6;
+              callbackArgExistsPart = clientMessage.getPart(index++);
+              {
+                byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
+                callbackArgExists = partBytes[0] == 0x01;
+              }
+              if (callbackArgExists) {
+                callbackArgPart = clientMessage.getPart(index++);
+                try {
+                  callbackArg = callbackArgPart.getObject();
+                } catch (Exception e) {
+                  logger
+                      .warn(
+                          String.format(
+                              "%s: Caught exception processing batch update request %s containing %s events",
+                              serverConnection.getName(), batchId, numberOfEvents),
+                          e);
+                  throw e;
                 }
-                if (callbackArgExists) {
-                  callbackArgPart = clientMessage.getPart(index++);
-                  try {
-                    callbackArg = callbackArgPart.getObject();
-                  } catch (Exception e) {
-                    logger
-                        .warn(
-                            String.format(
-                                "%s: Caught exception processing batch update request %s containing %s events",
-                                serverConnection.getName(), batchId, numberOfEvents),
-                            e);
-                    throw e;
-                  }
+              }
+              versionTimeStamp = clientMessage.getPart(index++).getLong();
+              if (logger.isDebugEnabled()) {
+                logger.debug(
+                    "{}: Processing batch update request {} on {} for region {} key {} value {} callbackArg {}",
+                    serverConnection.getName(), batchId, serverConnection.getSocketString(),
+                    regionName, key, valuePart, callbackArg);
+              }
+              // Process the update request
+              if (key == null || regionName == null) {
+                String message = null;
+                if (key == null) {
+                  message = "%s: The input key for the batch update request %s is null";
                 }
-                versionTimeStamp = clientMessage.getPart(index++).getLong();
-                if (logger.isDebugEnabled()) {
-                  logger.debug(
-                      "{}: Processing batch update request {} on {} for region {} key {} value {} callbackArg {}",
-                      serverConnection.getName(), batchId, serverConnection.getSocketString(),
-                      regionName, key, valuePart, callbackArg);
+                if (regionName == null) {
+                  message = "%s: The input region name for the batch update request %s is null";
                 }
-                // Process the update request
-                if (key == null || regionName == null) {
-                  String message = null;
-                  if (key == null) {
-                    message = "%s: The input key for the batch update request %s is null";
-                  }
-                  if (regionName == null) {
-                    message = "%s: The input region name for the batch update request %s is null";
-                  }
-                  String s = String.format(message, serverConnection.getName(), batchId);
-                  logger.warn(s);
-                  throw new Exception(s);
+                String s = String.format(message, serverConnection.getName(), batchId);
+                logger.warn(s);
+                throw new Exception(s);
+              }
+              region = (LocalRegion) crHelper.getCacheForGatewayCommand().getRegion(regionName);
+              if (region == null) {
+                handleRegionNull(serverConnection, regionName, batchId);
+              } else {
+                clientEvent = new EventIDHolder(eventId);
+                if (versionTimeStamp > 0) {
+                  VersionTag tag = VersionTag.create(region.getVersionMember());
+                  tag.setIsGatewayTag(true);
+                  tag.setVersionTimeStamp(versionTimeStamp);
+                  tag.setDistributedSystemId(dsid);
+                  clientEvent.setVersionTag(tag);
                 }
-                region = (LocalRegion) crHelper.getCacheForGatewayCommand().getRegion(regionName);
-                if (region == null) {
-                  handleRegionNull(serverConnection, regionName, batchId);
+                clientEvent.setPossibleDuplicate(possibleDuplicate);
+                handleMessageRetry(region, clientEvent);
+                byte[] value = valuePart.getSerializedForm();
+                boolean isObject = valuePart.isObject();
+                AuthorizeRequest authzRequest = serverConnection.getAuthzRequest();
+                if (authzRequest != null) {
+                  PutOperationContext putContext = authzRequest.putAuthorize(regionName, key,
+                      value, isObject, callbackArg, PutOperationContext.UPDATE);
+                  value = putContext.getSerializedValue();
+                  isObject = putContext.isObject();
+                }
+                boolean result = false;
+                if (isPdxEvent) {
+                  result = addPdxType(crHelper, key, value);
                 } else {
-                  clientEvent = new EventIDHolder(eventId);
-                  if (versionTimeStamp > 0) {
-                    VersionTag tag = VersionTag.create(region.getVersionMember());
-                    tag.setIsGatewayTag(true);
-                    tag.setVersionTimeStamp(versionTimeStamp);
-                    tag.setDistributedSystemId(dsid);
-                    clientEvent.setVersionTag(tag);
-                  }
-                  clientEvent.setPossibleDuplicate(possibleDuplicate);
-                  handleMessageRetry(region, clientEvent);
-                  byte[] value = valuePart.getSerializedForm();
-                  boolean isObject = valuePart.isObject();
-                  AuthorizeRequest authzRequest = serverConnection.getAuthzRequest();
-                  if (authzRequest != null) {
-                    PutOperationContext putContext = authzRequest.putAuthorize(regionName, key,
-                        value, isObject, callbackArg, PutOperationContext.UPDATE);
-                    value = putContext.getSerializedValue();
-                    isObject = putContext.isObject();
-                  }
-                  boolean result = false;
-                  if (isPdxEvent) {
-                    result = addPdxType(crHelper, key, value);
-                  } else {
-                    result = region.basicBridgePut(key, value, null, isObject, callbackArg,
-                        serverConnection.getProxyID(), false, clientEvent);
-                  }
-                  if (result || clientEvent.isConcurrencyConflict()) {
-                    serverConnection.setModificationInfo(true, regionName, key);
-                    stats.incUpdateRequest();
-                    retry = false;
-                  } else {
-                    final String message =
-                        "%s: Failed to update entry for region %s, key %s, value %s, and callbackArg %s";
-                    String s = String.format(message, serverConnection.getName(), regionName,
-                        key, valuePart, callbackArg);
-                    logger.info(s);
-                    throw new Exception(s);
-                  }
+                  result = region.basicBridgePut(key, value, null, isObject, callbackArg,
+                      serverConnection.getProxyID(), false, clientEvent);
+                }
+                if (result || clientEvent.isConcurrencyConflict()) {
+                  batchResult.setModificationInfo(regionName, key);
+                  stats.incUpdateRequest();
+                  retry = false;
+                } else {
+                  final String message =
+                      "%s: Failed to update entry for region %s, key %s, value %s, and callbackArg %s";
+                  String s = String.format(message, serverConnection.getName(), regionName,
+                      key, valuePart, callbackArg);
+                  logger.info(s);
+                  throw new Exception(s);
                 }
-              } catch (Exception e) {
-                // Preserve the connection under all circumstances
-                logger.warn(String.format(
-                    "%s: Caught exception processing batch update request %s containing %s events",
-                    serverConnection.getName(), batchId, numberOfEvents), e);
-                handleException(removeOnException, stats, e);
               }
-              break;
+            } catch (Exception e) {
+              // Preserve the connection under all circumstances
+              logger.warn(String.format(
+                  "%s: Caught exception processing batch update request %s containing %s events",
+                  serverConnection.getName(), batchId, numberOfEvents), e);
+              handleException(removeOnException, stats, e);
+            }
+            break;
 
-            case 2: // Destroy
-              try {
-                // Retrieve the callbackArg from the message parts if necessary
-                index = partNumber + 5;
-                callbackArgExistsPart = clientMessage.getPart(index++);
-                {
-                  byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
-                  callbackArgExists = partBytes[0] == 0x01;
-                }
-                if (callbackArgExists) {
-                  callbackArgPart = clientMessage.getPart(index++);
-                  try {
-                    callbackArg = callbackArgPart.getObject();
-                  } catch (Exception e) {
-                    logger
-                        .warn(
-                            String.format(
-                                "%s: Caught exception processing batch destroy request %s containing %s events",
-                                serverConnection.getName(), batchId, numberOfEvents),
-                            e);
-                    throw e;
-                  }
+          case 2: // Destroy
+            try {
+              // Retrieve the callbackArg from the message parts if necessary
+              index = partNumber + 5;
+              callbackArgExistsPart = clientMessage.getPart(index++);
+              {
+                byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
+                callbackArgExists = partBytes[0] == 0x01;
+              }
+              if (callbackArgExists) {
+                callbackArgPart = clientMessage.getPart(index++);
+                try {
+                  callbackArg = callbackArgPart.getObject();
+                } catch (Exception e) {
+                  logger
+                      .warn(
+                          String.format(
+                              "%s: Caught exception processing batch destroy request %s containing %s events",
+                              serverConnection.getName(), batchId, numberOfEvents),
+                          e);
+                  throw e;
                 }
+              }
 
-                versionTimeStamp = clientMessage.getPart(index++).getLong();
-                if (logger.isDebugEnabled()) {
-                  logger.debug("{}: Processing batch destroy request {} on {} for region {} key {}",
-                      serverConnection.getName(), batchId, serverConnection.getSocketString(),
-                      regionName, key);
-                }
+              versionTimeStamp = clientMessage.getPart(index++).getLong();
+              if (logger.isDebugEnabled()) {
+                logger.debug("{}: Processing batch destroy request {} on {} for region {} key {}",
+                    serverConnection.getName(), batchId, serverConnection.getSocketString(),
+                    regionName, key);
+              }
 
-                // Process the destroy request
-                if (key == null || regionName == null) {
-                  String message = null;
-                  if (key == null) {
-                    message =
-                        "%s: The input key for the batch destroy request %s is null";
-                  }
-                  if (regionName == null) {
-                    message =
-                        "%s: The input region name for the batch destroy request %s is null";
-                  }
-                  String s = String.format(message, serverConnection.getName(), batchId);
-                  logger.warn(s);
-                  throw new Exception(s);
+              // Process the destroy request
+              if (key == null || regionName == null) {
+                String message = null;
+                if (key == null) {
+                  message =
+                      "%s: The input key for the batch destroy request %s is null";
+                }
+                if (regionName == null) {
+                  message =
+                      "%s: The input region name for the batch destroy request %s is null";
                 }
+                String s = String.format(message, serverConnection.getName(), batchId);
+                logger.warn(s);
+                throw new Exception(s);
+              }
+              region = (LocalRegion) crHelper.getCacheForGatewayCommand().getRegion(regionName);
+              if (region == null) {
+                handleRegionNull(serverConnection, regionName, batchId);
+              } else {
+                clientEvent = new EventIDHolder(eventId);
+                if (versionTimeStamp > 0) {
+                  VersionTag tag = VersionTag.create(region.getVersionMember());
+                  tag.setIsGatewayTag(true);
+                  tag.setVersionTimeStamp(versionTimeStamp);
+                  tag.setDistributedSystemId(dsid);
+                  clientEvent.setVersionTag(tag);
+                }
+                handleMessageRetry(region, clientEvent);
+                // Destroy the entry
+                AuthorizeRequest authzRequest = serverConnection.getAuthzRequest();
+                if (authzRequest != null) {
+                  DestroyOperationContext destroyContext =
+                      authzRequest.destroyAuthorize(regionName, key, callbackArg);
+                  callbackArg = destroyContext.getCallbackArg();
+                }
+                try {
+                  region.basicBridgeDestroy(key, callbackArg, serverConnection.getProxyID(),
+                      false, clientEvent);
+                  batchResult.setModificationInfo(regionName, key);
+                } catch (EntryNotFoundException e) {
+                  logger.info("{}: during batch destroy no entry was found for key {}",
+                      serverConnection.getName(), key);
+                }
+                stats.incDestroyRequest();
+                retry = false;
+              }
+            } catch (Exception e) {
+              logger.warn(String.format(
+                  "%s: Caught exception processing batch destroy request %s containing %s events",
+                  serverConnection.getName(), batchId, numberOfEvents),
+                  e);
+              handleException(removeOnException, stats, e);
+            }
+            break;
+
+          case 3: // Update Time-stamp for a RegionEntry
+            try {
+              // Region name
+              regionNamePart = clientMessage.getPart(partNumber + 2);
+              regionName = regionNamePart.getCachedString();
+
+              // Retrieve the event id from the message parts
+              eventIdPart = clientMessage.getPart(partNumber + 3);
+              eventId = (EventID) eventIdPart.getObject();
+
+              // Retrieve the key from the message parts
+              keyPart = clientMessage.getPart(partNumber + 4);
+              key = keyPart.getStringOrObject();
+
+              // Retrieve the callbackArg from the message parts if necessary
+              index = partNumber + 5;
+              callbackArgExistsPart = clientMessage.getPart(index++);
+
+              byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
+              callbackArgExists = partBytes[0] == 0x01;
+
+              if (callbackArgExists) {
+                callbackArgPart = clientMessage.getPart(index++);
+                callbackArg = callbackArgPart.getObject();
+              }
+
+              versionTimeStamp = clientMessage.getPart(index++).getLong();
+              if (logger.isDebugEnabled()) {
+                logger.debug(
+                    "{}: Processing batch update-version request {} on {} for region {} key {} value {} callbackArg {}",
+                    serverConnection.getName(), batchId, serverConnection.getSocketString(),
+                    regionName, key, valuePart, callbackArg);
+              }
+              // Process the update time-stamp request
+              if (key == null || regionName == null) {
+                String message =
+                    "%s: Caught exception processing batch update version request request %s containing %s events";
+
+                String s = String.format(message, serverConnection.getName(),
+                    batchId, numberOfEvents);
+                logger.warn(s);
+                throw new Exception(s);
+
+              } else {
                 region = (LocalRegion) crHelper.getCacheForGatewayCommand().getRegion(regionName);
+
                 if (region == null) {
                   handleRegionNull(serverConnection, regionName, batchId);
                 } else {
+
                   clientEvent = new EventIDHolder(eventId);
+
                   if (versionTimeStamp > 0) {
                     VersionTag tag = VersionTag.create(region.getVersionMember());
                     tag.setIsGatewayTag(true);
@@ -509,203 +692,261 @@ public class GatewayReceiverCommand extends BaseCommand {
                     tag.setDistributedSystemId(dsid);
                     clientEvent.setVersionTag(tag);
                   }
-                  handleMessageRetry(region, clientEvent);
-                  // Destroy the entry
-                  AuthorizeRequest authzRequest = serverConnection.getAuthzRequest();
-                  if (authzRequest != null) {
-                    DestroyOperationContext destroyContext =
-                        authzRequest.destroyAuthorize(regionName, key, callbackArg);
-                    callbackArg = destroyContext.getCallbackArg();
-                  }
+
+                  // Update the version tag
                   try {
-                    region.basicBridgeDestroy(key, callbackArg, serverConnection.getProxyID(),
-                        false, clientEvent);
-                    serverConnection.setModificationInfo(true, regionName, key);
+                    region.basicBridgeUpdateVersionStamp(key, callbackArg,
+                        serverConnection.getProxyID(), false, clientEvent);
                   } catch (EntryNotFoundException e) {
-                    logger.info("{}: during batch destroy no entry was found for key {}",
+                    logger.info(
+                        "Entry for key {} was not found in Region {} during ProcessBatch for Update Entry Version",
                         serverConnection.getName(), key);
                   }
-                  stats.incDestroyRequest();
                   retry = false;
                 }
-              } catch (Exception e) {
-                logger.warn(String.format(
-                    "%s: Caught exception processing batch destroy request %s containing %s events",
-                    serverConnection.getName(), batchId, numberOfEvents),
-                    e);
-                handleException(removeOnException, stats, e);
               }
-              break;
-
-            case 3: // Update Time-stamp for a RegionEntry
-              try {
-                // Region name
-                regionNamePart = clientMessage.getPart(partNumber + 2);
-                regionName = regionNamePart.getCachedString();
+            } catch (Exception e) {
+              logger.warn(String.format(
+                  "%s: Caught exception processing batch update version request request %s containing %s events",
+                  serverConnection.getName(), batchId, numberOfEvents), e);
+              handleException(removeOnException, stats, e);
+            }
 
-                // Retrieve the event id from the message parts
-                eventIdPart = clientMessage.getPart(partNumber + 3);
-                eventId = (EventID) eventIdPart.getObject();
-
-                // Retrieve the key from the message parts
-                keyPart = clientMessage.getPart(partNumber + 4);
-                key = keyPart.getStringOrObject();
-
-                // Retrieve the callbackArg from the message parts if necessary
-                index = partNumber + 5;
-                callbackArgExistsPart = clientMessage.getPart(index++);
+            break;
+          default:
+            logger.fatal("{}: Unknown action type ({}) for batch from {}",
+                serverConnection.getName(), actionType, serverConnection.getSocketString());
+            stats.incUnknowsOperationsReceived();
+        }
+      } while (retry);
+    } catch (CancelException e) {
+      throw e;
+    } catch (Exception e) {
+      // If an interrupted exception is thrown , rethrow it
+      checkForInterrupt(serverConnection, e);
 
-                byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
-                callbackArgExists = partBytes[0] == 0x01;
+      // If we have an issue with the PDX registry, stop processing more data
+      if (e.getCause() instanceof PdxRegistryMismatchException) {
+        batchResult.fatalException = e.getCause();
+        logger.fatal(String.format(
+            "This gateway receiver has received a PDX type from %s that does match the existing PDX type. This gateway receiver will not process any more events, in order to prevent receiving objects which may not be deserializable.",
+            serverConnection.getMembershipID()), e.getCause());
+        return;
+      }
 
-                if (callbackArgExists) {
-                  callbackArgPart = clientMessage.getPart(index++);
-                  callbackArg = callbackArgPart.getObject();
-                }
+      DistributedSystem ds = crHelper.getCacheForGatewayCommand().getDistributedSystem();
+      String exceptionMessage = String.format(
+          "Exception occurred while processing a batch on the receiver running on DistributedSystem with Id: %s, DistributedMember on which the receiver is running: %s",
+          ((InternalDistributedSystem) ds).getDistributionManager().getDistributedSystemId(),
+          ds.getDistributedMember());
+      batchResult.exceptions.add(
+          new BatchException70(exceptionMessage, e, event.indexWithoutPDXEvent, batchId));
+    }
+  }
 
-                versionTimeStamp = clientMessage.getPart(index++).getLong();
-                if (logger.isDebugEnabled()) {
-                  logger.debug(
-                      "{}: Processing batch update-version request {} on {} for region {} key {} value {} callbackArg {}",
-                      serverConnection.getName(), batchId, serverConnection.getSocketString(),
-                      regionName, key, valuePart, callbackArg);
-                }
-                // Process the update time-stamp request
-                if (key == null || regionName == null) {
-                  String message =
-                      "%s: Caught exception processing batch update version request request %s containing %s events";
-
-                  String s = String.format(message, serverConnection.getName(),
-                      batchId, numberOfEvents);
-                  logger.warn(s);
-                  throw new Exception(s);
+  /**
+   * Applies the leading PDX events of a batch in order, then the remaining events in groups on the
+   * parallel apply executor, and waits for all of the groups to complete. Once a group fails, the
+   * other groups stop after their current event, and the failure is thrown when all of them have
+   * stopped.
+   */
+  private void applyEventsInParallel(Message clientMessage, ServerConnection serverConnection,
+      SecurityService securityService, GatewayReceiverStats stats, int batchId,
+      int numberOfEvents, int dsid, boolean removeOnException, List<BatchEvent> events,
+      BatchResult batchResult) throws InterruptedException, InterruptedIOException {
+    int first = 0;
+    while (first < events.size() && events.get(first).pdxEvent) {
+      applyEvent(clientMessage, serverConnection, stats, batchId, numberOfEvents, dsid,
+          removeOnException, events.get(first++), batchResult);
+      if (batchResult.fatalException != null) {
+        return;
+      }
+    }
 
-                } else {
-                  region = (LocalRegion) crHelper.getCacheForGatewayCommand().getRegion(regionName);
-
-                  if (region == null) {
-                    handleRegionNull(serverConnection, regionName, batchId);
-                  } else {
-
-                    clientEvent = new EventIDHolder(eventId);
-
-                    if (versionTimeStamp > 0) {
-                      VersionTag tag = VersionTag.create(region.getVersionMember());
-                      tag.setIsGatewayTag(true);
-                      tag.setVersionTimeStamp(versionTimeStamp);
-                      tag.setDistributedSystemId(dsid);
-                      clientEvent.setVersionTag(tag);
-                    }
-
-                    // Update the version tag
-                    try {
-                      region.basicBridgeUpdateVersionStamp(key, callbackArg,
-                          serverConnection.getProxyID(), false, clientEvent);
-                    } catch (EntryNotFoundException e) {
-                      logger.info(
-                          "Entry for key {} was not found in Region {} during ProcessBatch for Update Entry Version",
-                          serverConnection.getName(), key);
-                    }
-                    retry = false;
-                  }
-                }
-              } catch (Exception e) {
-                logger.warn(String.format(
-                    "%s: Caught exception processing batch update version request request %s containing %s events",
-                    serverConnection.getName(), batchId, numberOfEvents), e);
-                handleException(removeOnException, stats, e);
-              }
+    List<List<BatchEvent>> groups = new ArrayList<>(parallelApplyThreads);
+    for (int i = 0; i < parallelApplyThreads; i++) {
+      groups.add(new ArrayList<>());
+    }
+    for (int i = first; i < events.size(); i++) {
+      BatchEvent event = events.get(i);
+      event.resolveKey(clientMessage);
+      groups.get(Math.floorMod(event.keyHash, parallelApplyThreads)).add(event);
+    }
 
+    // WAN connections do not normally bind a subject, but if this thread has one the groups
+    // must be applied with it too
+    Subject subject = ThreadContext.getSubject();
+    List<Future<Void>> futures = new ArrayList<>(parallelApplyThreads);
+    for (List<BatchEvent> group : groups) {
+      if (group.isEmpty()) {
+        continue;
+      }
+      futures.add(parallelApplyExecutor.submit(() -> {
+        ThreadState threadState = subject == null ? null : securityService.bindSubject(subject);
+        try {
+          for (BatchEvent event : group) {
+            if (batchResult.isStopped()) {
               break;
-            default:
-              logger.fatal("{}: Unknown action type ({}) for batch from {}",
-                  serverConnection.getName(), actionType, serverConnection.getSocketString());
-              stats.incUnknowsOperationsReceived();
+            }
+            applyEvent(clientMessage, serverConnection, stats, batchId, numberOfEvents, dsid,
+                removeOnException, event, batchResult);
+          }
+        } catch (Exception | Error e) {
+          batchResult.stopped = true;
+          throw e;
+        } finally {
+          if (threadState != null) {
+            threadState.clear();
           }
-        } while (retry);
-      } catch (CancelException e) {
-        if (logger.isDebugEnabled()) {
-          logger.debug(
-              "{} ignoring message of type {} from client {} because shutdown occurred during message processing.",
-              serverConnection.getName(), MessageType.getString(clientMessage.getMessageType()),
-              serverConnection.getProxyID());
-        }
-        serverConnection.setFlagProcessMessagesAsFalse();
-        serverConnection.setClientDisconnectedException(e);
-        return;
-      } catch (Exception e) {
-        // If an interrupted exception is thrown , rethrow it
-        checkForInterrupt(serverConnection, e);
-
-        // If we have an issue with the PDX registry, stop processing more data
-        if (e.getCause() instanceof PdxRegistryMismatchException) {
-          fatalException = e.getCause();
-          logger.fatal(String.format(
-              "This gateway receiver has received a PDX type from %s that does match the existing PDX type. This gateway receiver will not process any more events, in order to prevent receiving objects which may not be deserializable.",
-              serverConnection.getMembershipID()), e.getCause());
-          break;
         }
+        return null;
+      }));
+    }
 
-        // Increment the batch id unless the received batch id is -1 (a
-        // failover batch)
-        DistributedSystem ds = crHelper.getCacheForGatewayCommand().getDistributedSystem();
-        String exceptionMessage = String.format(
-            "Exception occurred while processing a batch on the receiver running on DistributedSystem with Id: %s, DistributedMember on which the receiver is running: %s",
-            ((InternalDistributedSystem) ds).getDistributionManager().getDistributedSystemId(),
-            ds.getDistributedMember());
-        BatchException70 be =
-            new BatchException70(exceptionMessage, e, indexWithoutPDXEvent, batchId);
-        exceptions.add(be);
-      } finally {
-        // Increment the partNumber
-        if (actionType == 0 /* create */ || actionType == 1 /* update */) {
-          if (callbackArgExists) {
-            partNumber += 9;
-          } else {
-            partNumber += 8;
-          }
-        } else if (actionType == 2 /* destroy */) {
-          if (callbackArgExists) {
-            partNumber += 8;
-          } else {
-            partNumber += 7;
-          }
-        } else if (actionType == 3 /* update-version */) {
-          if (callbackArgExists) {
-            partNumber += 8;
-          } else {
-            partNumber += 7;
-          }
+    Throwable failure = waitForGroups(futures, batchResult);
+    if (failure instanceof InterruptedException) {
+      throw (InterruptedException) failure;
+    }
+    if (failure instanceof InterruptedIOException) {
+      throw (InterruptedIOException) failure;
+    }
+    if (failure instanceof Error) {
+      throw (Error) failure;
+    }
+    if (failure != null) {
+      throw (RuntimeException) failure;
+    }
+  }
+
+  /**
+   * Waits for every group to complete, even if this thread is interrupted, and returns the first
+   * failure or null. Later failures are added to it as suppressed exceptions.
+   */
+  private static Throwable waitForGroups(List<Future<Void>> futures, BatchResult batchResult) {
+    Throwable failure = null;
+    for (Future<Void> future : futures) {
+      boolean done = false;
+      while (!done) {
+        Throwable cause = null;
+        try {
+          future.get();
+          done = true;
+        } catch (ExecutionException e) {
+          cause = e.getCause();
+          done = true;
+        } catch (InterruptedException e) {
+          // stop the groups and keep waiting so none of them outlives this batch
+          batchResult.stopped = true;
+          cause = e;
+        }
+        if (cause == null) {
+          continue;
+        }
+        if (failure == null) {
+          failure = cause;
+        } else if (failure != cause) {
+          failure.addSuppressed(cause);
         }
       }
     }
+    return failure;
+  }
 
-    {
-      long oldStart = start;
-      start = DistributionStats.getStatTime();
-      stats.incProcessBatchTime(start - oldStart);
+  /**
+   * Returns where each event of a batch starts in the message parts.
+   */
+  private static List<BatchEvent> locateEvents(Message clientMessage, int partNumber,
+      int numberOfEvents) {
+    List<BatchEvent> events = new ArrayList<>(numberOfEvents);
+    int indexWithoutPDXEvent = -1;
+    for (int i = 0; i < numberOfEvents; i++) {
+      int actionType = clientMessage.getPart(partNumber).getInt();
+      boolean pdxEvent = PeerTypeRegistration.REGION_FULL_PATH
+          .equals(clientMessage.getPart(partNumber + 2).getCachedString());
+      if (!pdxEvent) {
+        indexWithoutPDXEvent++;
+      }
+      events.add(new BatchEvent(partNumber, indexWithoutPDXEvent, pdxEvent));
+
+      // Increment the partNumber
+      if (actionType == 0 /* create */ || actionType == 1 /* update */) {
+        partNumber += callbackArgExists(clientMessage, partNumber + 6) ? 9 : 8;
+      } else if (actionType == 2 /* destroy */ || actionType == 3 /* update-version */) {
+        partNumber += callbackArgExists(clientMessage, partNumber + 5) ? 8 : 7;
+      }
     }
-    if (fatalException != null) {
-      serverConnection.incrementLatestBatchIdReplied(batchId);
-      writeFatalException(clientMessage, fatalException, serverConnection, batchId);
-      serverConnection.setAsTrue(RESPONDED);
-    } else if (!exceptions.isEmpty()) {
-      serverConnection.incrementLatestBatchIdReplied(batchId);
-      writeBatchException(clientMessage, exceptions, serverConnection, batchId);
-      serverConnection.setAsTrue(RESPONDED);
-    } else {
-      // Increment the batch id unless the received batch id is -1 (a failover
-      // batch)
-      serverConnection.incrementLatestBatchIdReplied(batchId);
+    return events;
+  }
 
-      writeReply(clientMessage, serverConnection, batchId, numberOfEvents);
-      serverConnection.setAsTrue(RESPONDED);
-      stats.incWriteProcessBatchResponseTime(DistributionStats.getStatTime() - start);
-      if (logger.isDebugEnabled()) {
-        logger.debug(
-            "{}: Sent process batch normal response for batch {} containing {} events ({} bytes) with {} acknowledgement on {}",
-            serverConnection.getName(), batchId, numberOfEvents, clientMessage.getPayloadLength(),
-            "normal", serverConnection.getSocketString());
+  private static boolean callbackArgExists(Message clientMessage, int partNumber) {
+    return clientMessage.getPart(partNumber).getSerializedForm()[0] == 0x01;
+  }
+
+  /**
+   * The location of an event in the parts of a batch message.
+   */
+  private static class BatchEvent {
+    private final int partNumber;
+    private final int indexWithoutPDXEvent;
+    private final boolean pdxEvent;
+    private Object key;
+    private boolean keyResolved;
+    private int keyHash;
+
+    private BatchEvent(int partNumber, int indexWithoutPDXEvent, boolean pdxEvent) {
+      this.partNumber = partNumber;
+      this.indexWithoutPDXEvent = indexWithoutPDXEvent;
+      this.pdxEvent = pdxEvent;
+    }
+
+    /**
+     * Deserializes the key of the event, and computes a hash that is equal for events on the same
+     * key of the same region. Must be called before the event is handed to another thread.
+     */
+    private void resolveKey(Message clientMessage) {
+      int hash = Objects.hashCode(clientMessage.getPart(partNumber + 2).getCachedString());
+      try {
+        key = clientMessage.getPart(partNumber + 4).getStringOrObject();
+        keyResolved = true;
+        hash = 31 * hash + Objects.hashCode(key);
+      } catch (Exception e) {
+        // the failure is reported when the event is applied
+      }
+      keyHash = hash;
+    }
+
+    private Object getKey(Part keyPart) throws IOException, ClassNotFoundException {
+      return keyResolved ? key : keyPart.getStringOrObject();
+    }
+  }
+
+  /**
+   * The outcome of applying the events of a batch, possibly from several threads.
+   */
+  private static class BatchResult {
+    private final List<BatchException70> exceptions =
+        Collections.synchronizedList(new ArrayList<>());
+    private volatile Throwable fatalException;
+    private volatile boolean stopped;
+    private String modRegion;
+    private Object modKey;
+
+    private boolean isStopped() {
+      return stopped || fatalException != null;
+    }
+
+    /**
+     * Records the entry last modified by the batch. The server connection is only updated from its
+     * own thread, by {@link #updateModificationInfo(ServerConnection)}.
+     */
+    private synchronized void setModificationInfo(String regionName, Object key) {
+      modRegion = regionName;
+      modKey = key;
+    }
+
+    private synchronized void updateModificationInfo(ServerConnection serverConnection) {
+      if (modRegion != null) {
+        serverConnection.setModificationInfo(true, modRegion, modKey);
       }
     }
   }
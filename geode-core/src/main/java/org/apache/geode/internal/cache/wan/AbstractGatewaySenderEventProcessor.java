@@ -32,6 +32,7 @@ import org.apache.logging.log4j.Logger;
 import org.apache.geode.CancelException;
 import org.apache.geode.GemFireException;
 import org.apache.geode.SystemFailure;
+import org.apache.geode.annotations.VisibleForTesting;
 import org.apache.geode.cache.CacheException;
 import org.apache.geode.cache.EntryEvent;
 import org.apache.geode.cache.Operation;
@@ -142,11 +143,37 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
   /**
    * The batchSize is the batch size being used by this processor. By default, it is the configured
    * batch size of the GatewaySender. It may be automatically reduced if a MessageTooLargeException
-   * occurs.
+   * occurs, and it is tuned by the batchSizeController if adaptive batching is enabled.
    */
-  private int batchSize;
+  private volatile int batchSize;
   private int batchTimeInterval;
 
+  /**
+   * Tunes the batchSize from the acknowledgement latency of the batches. Null unless adaptive
+   * batching is enabled.
+   */
+  private final AdaptiveBatchSizeController batchSizeController;
+
+  /**
+   * Held while the batchSize is updated, so that an acknowledgement tuning it and a
+   * MessageTooLargeException capping it cannot overwrite each other.
+   */
+  private final Object batchSizeLock = new Object();
+
+  /**
+   * The time each batch awaiting an acknowledgement was dispatched. Only used with the
+   * batchSizeController.
+   */
+  private final Map<Integer, Long> batchIdToDispatchTime = new ConcurrentHashMap<>();
+
+  /**
+   * Notified whenever an acknowledged batch leaves the batchIdToEventsMap, so the processor can
+   * dispatch another batch when it had {@link #maxInFlightBatches} awaiting acknowledgement.
+   */
+  private final Object batchWindowLock = new Object();
+
+  private volatile int maxInFlightBatches = MAX_IN_FLIGHT_BATCHES;
+
   public AbstractGatewaySenderEventProcessor(String string,
       GatewaySender sender, ThreadsMonitoring tMonitoring) {
     super(string);
@@ -154,6 +181,11 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
     this.batchSize = sender.getBatchSize();
     this.batchTimeInterval = sender.getBatchTimeInterval();
     this.threadMonitoring = tMonitoring;
+    this.batchSizeController = AdaptiveBatchSizeController.create(this.batchSize);
+    if (this.batchSizeController != null) {
+      this.batchSize = this.batchSizeController.getBatchSize();
+      this.sender.getStatistics().setBatchSize(this.batchSize);
+    }
   }
 
   public void setExpectedReceiverUniqueId(String uniqueId) {
@@ -239,16 +271,55 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
   }
 
   public void setBatchSize(int batchSize) {
-    int currentBatchSize = this.batchSize;
-    if (batchSize <= 0) {
-      this.batchSize = 1;
-      logger.warn(
-          "Attempting to set the batch size from {} to {} events failed. Instead it was set to 1.",
-          new Object[] {currentBatchSize, batchSize});
-    } else {
-      this.batchSize = batchSize;
-      logger.info("Set the batch size from {} to {} events",
-          new Object[] {currentBatchSize, this.batchSize});
+    synchronized (this.batchSizeLock) {
+      int currentBatchSize = this.batchSize;
+      int newBatchSize = batchSize;
+      if (batchSize <= 0) {
+        newBatchSize = 1;
+        logger.warn(
+            "Attempting to set the batch size from {} to {} events failed. "
+                + "Instead it was set to 1.",
+            new Object[] {currentBatchSize, batchSize});
+      }
+      if (this.batchSizeController != null) {
+        // the new size caps the tuned batch size, which then stays the one in use
+        this.batchSizeController.setMaximumBatchSize(newBatchSize);
+        newBatchSize = this.batchSizeController.getBatchSize();
+      }
+      this.batchSize = newBatchSize;
+      if (batchSize > 0) {
+        logger.info("Set the batch size from {} to {} events",
+            new Object[] {currentBatchSize, this.batchSize});
+      }
+    }
+  }
+
+  private void recordEventDispatchLatency(List<GatewaySenderEventImpl> events) {
+    long now = System.currentTimeMillis();
+    long latency = 0;
+    for (GatewaySenderEventImpl event : events) {
+      latency += Math.max(0, now - event.getCreationTime());
+    }
+    this.sender.getStatistics().incEventDispatchLatency(latency);
+  }
+
+  @VisibleForTesting
+  void batchAcknowledged(int numberOfEvents, long latencyNanos) {
+    final GatewaySenderStats statistics = this.sender.getStatistics();
+    statistics.incBatchAcknowledgementTime(latencyNanos);
+    synchronized (this.batchSizeLock) {
+      if (this.batchSizeController.batchAcknowledged(numberOfEvents, latencyNanos)) {
+        int currentBatchSize = this.batchSize;
+        this.batchSize = this.batchSizeController.getBatchSize();
+        statistics.incBatchSizeAdjustments();
+        statistics.setBatchSize(this.batchSize);
+        if (logger.isDebugEnabled()) {
+          logger.debug(
+              "Adjusted the batch size from {} to {} events after a batch of {} events was "
+                  + "acknowledged in {} ns",
+              currentBatchSize, this.batchSize, numberOfEvents, latencyNanos);
+        }
+      }
     }
   }
 
@@ -313,6 +384,10 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
       return;
     }
     this.isPaused = true;
+    // a processor waiting for the batch window goes on to wait for resumption instead
+    synchronized (this.batchWindowLock) {
+      this.batchWindowLock.notifyAll();
+    }
   }
 
   // merge44957: WHile merging 44957, need this method hence picked up this method from revision
@@ -381,6 +456,15 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
   protected static final int FAILURE_LOG_MAX_INTERVAL = Integer.getInteger(
       GeodeGlossary.GEMFIRE_PREFIX + "GatewaySender.FAILURE_LOG_MAX_INTERVAL", 300000);
 
+  /**
+   * The maximum number of dispatched batches awaiting an acknowledgement from the receiver. Batches
+   * are pipelined on the connection and acknowledged in order by the ack reader thread; this bounds
+   * the window so it can be sized to the bandwidth-delay product of the link instead of only being
+   * limited by the socket buffers. Zero, the default, leaves the window unbounded.
+   */
+  protected static final int MAX_IN_FLIGHT_BATCHES = Integer.getInteger(
+      GeodeGlossary.GEMFIRE_PREFIX + "GatewaySender.MAX_IN_FLIGHT_BATCHES", 0);
+
   public boolean skipFailureLogging(Integer batchId) {
     boolean skipLogging = false;
     // if map has become large then give up on new events but we don't expect
@@ -508,6 +592,9 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
                * Thread.currentThread().interrupt(); } } }
                */
             }
+            if (!waitForBatchWindow()) {
+              continue;
+            }
             events = this.queue.peek(this.batchSize, this.batchTimeInterval);
           } catch (InterruptedException e) {
             interrupted = true;
@@ -633,6 +720,9 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
               eventsArr[0] = events;
               eventsArr[1] = filteredList;
               this.batchIdToEventsMap.put(getBatchId(), eventsArr);
+              if (this.batchSizeController != null) {
+                this.batchIdToDispatchTime.put(getBatchId(), System.nanoTime());
+              }
               // find out PDX event and append it in front of the list
               pdxEventsToBeDispatched = addPDXEvent();
               eventsToBeDispatched.addAll(pdxEventsToBeDispatched);
@@ -655,6 +745,7 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
                   conflatedEventsToBeDispatched);
             }
 
+            long dispatchStart = System.nanoTime();
             boolean success = this.dispatcher.dispatchBatch(conflatedEventsToBeDispatched,
                 sender.isRemoveFromQueueOnException(), false);
             if (success) {
@@ -679,8 +770,14 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
 
             // If the batch is successfully processed, remove it from the queue.
             if (success) {
+              // recorded first since a callback dispatcher's batch is cleared once handled
+              recordEventDispatchLatency(conflatedEventsToBeDispatched);
               if (this.dispatcher instanceof GatewaySenderEventCallbackDispatcher) {
                 handleSuccessfulBatchDispatch(conflatedEventsToBeDispatched, events);
+                if (this.batchSizeController != null) {
+                  // the callback dispatcher processes the batch before returning
+                  batchAcknowledged(events.size(), System.nanoTime() - dispatchStart);
+                }
               } else {
                 incrementBatchId();
               }
@@ -940,6 +1037,7 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
 
   private void resetLastPeekedEvents() {
     this.batchIdToEventsMap.clear();
+    this.batchIdToDispatchTime.clear();
     // make sure that when there is problem while receiving ack, pdx gateway
     // sender events isDispatched is set to false so that same events will be
     // dispatched in next batch
@@ -1031,7 +1129,16 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
     }
 
     List<GatewaySenderEventImpl>[] eventsArr = this.batchIdToEventsMap.remove(batchId);
+    Long dispatchTime = this.batchIdToDispatchTime.remove(batchId);
     if (eventsArr != null) {
+      if (this.maxInFlightBatches > 0) {
+        synchronized (this.batchWindowLock) {
+          this.batchWindowLock.notifyAll();
+        }
+      }
+      if (dispatchTime != null && this.batchSizeController != null) {
+        batchAcknowledged(eventsArr[0].size(), System.nanoTime() - dispatchTime);
+      }
       List<GatewaySenderEventImpl> filteredEvents = eventsArr[1];
       for (GatewayEventFilter filter : sender.getGatewayEventFilters()) {
         for (GatewaySenderEventImpl event : filteredEvents) {
@@ -1112,6 +1219,42 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
     }
   }
 
+  /**
+   * Waits until fewer than {@link #maxInFlightBatches} dispatched batches await an
+   * acknowledgement.
+   *
+   * @return false if the processor was stopped or paused, or its peeked events were reset, while
+   *         waiting
+   */
+  @VisibleForTesting
+  boolean waitForBatchWindow() throws InterruptedException {
+    if (this.maxInFlightBatches <= 0
+        || this.dispatcher instanceof GatewaySenderEventCallbackDispatcher
+        || this.batchIdToEventsMap.size() < this.maxInFlightBatches) {
+      return true;
+    }
+    final GatewaySenderStats statistics = this.sender.getStatistics();
+    long start = statistics.startTime();
+    try {
+      synchronized (this.batchWindowLock) {
+        while (this.batchIdToEventsMap.size() >= this.maxInFlightBatches) {
+          if (stopped() || this.isPaused || this.resetLastPeekedEvents) {
+            return false;
+          }
+          this.batchWindowLock.wait(100);
+        }
+      }
+      return true;
+    } finally {
+      statistics.endBatchWindowWait(start);
+    }
+  }
+
+  @VisibleForTesting
+  void setMaxInFlightBatches(int maxInFlightBatches) {
+    this.maxInFlightBatches = maxInFlightBatches;
+  }
+
   public abstract void initializeEventDispatcher();
 
   public GatewaySenderEventDispatcher getDispatcher() {
@@ -1243,6 +1386,7 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
           // try to stop it again
           dispatcher.stop();
           this.batchIdToEventsMap.clear();
+          this.batchIdToDispatchTime.clear();
         }
       } catch (InterruptedException ex) {
         Thread.currentThread().interrupt();
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * Tunes the batch size of an {@link AbstractGatewaySenderEventProcessor} from the time it takes
+ * the receiver to acknowledge each batch. While batches come back full and within the target
+ * latency the queue has a backlog the receiver keeps up with, so the batch size grows by a fixed
+ * step up to the maximum. A batch acknowledged later than the target latency halves the batch size.
+ * Batches that are not full leave the batch size unchanged.
+ *
+ * @since Geode 1.15
+ */
+public class AdaptiveBatchSizeController {
+
+  public static final String ENABLED_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "GatewaySender.ADAPTIVE_BATCH_SIZE";
+
+  public static final String MAXIMUM_BATCH_SIZE_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "GatewaySender.ADAPTIVE_MAXIMUM_BATCH_SIZE";
+
+  public static final String TARGET_LATENCY_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "GatewaySender.ADAPTIVE_TARGET_LATENCY_MS";
+
+  public static final int DEFAULT_TARGET_LATENCY_MS = 1000;
+
+  /**
+   * The number of steps it takes to grow from the smallest to the maximum batch size.
+   */
+  private static final int GROWTH_STEPS = 10;
+
+  private final long targetLatencyNanos;
+
+  private int maximumBatchSize;
+
+  private int batchSize;
+
+  AdaptiveBatchSizeController(int batchSize, int maximumBatchSize, long targetLatencyMillis) {
+    this.maximumBatchSize = Math.max(1, maximumBatchSize);
+    this.batchSize = Math.max(1, Math.min(batchSize, this.maximumBatchSize));
+    this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMillis);
+  }
+
+  /**
+   * Returns a controller for the given configured batch size, or null if adaptive batching is not
+   * enabled.
+   */
+  static AdaptiveBatchSizeController create(int configuredBatchSize) {
+    if (!Boolean.getBoolean(ENABLED_PROPERTY)) {
+      return null;
+    }
+    int maximumBatchSize = Integer.getInteger(MAXIMUM_BATCH_SIZE_PROPERTY, configuredBatchSize);
+    return new AdaptiveBatchSizeController(configuredBatchSize,
+        Math.max(configuredBatchSize, maximumBatchSize),
+        Integer.getInteger(TARGET_LATENCY_PROPERTY, DEFAULT_TARGET_LATENCY_MS));
+  }
+
+  public synchronized int getBatchSize() {
+    return batchSize;
+  }
+
+  synchronized int getMaximumBatchSize() {
+    return maximumBatchSize;
+  }
+
+  /**
+   * Caps the batch size, for example after a batch was too large to be sent.
+   */
+  synchronized void setMaximumBatchSize(int maximumBatchSize) {
+    this.maximumBatchSize = Math.max(1, maximumBatchSize);
+    batchSize = Math.min(batchSize, this.maximumBatchSize);
+  }
+
+  /**
+   * Records that a batch was acknowledged.
+   *
+   * @param numberOfEvents the number of events peeked into the batch
+   * @param latencyNanos the time between dispatching the batch and receiving its acknowledgement
+   * @return true if the batch size changed
+   */
+  synchronized boolean batchAcknowledged(int numberOfEvents, long latencyNanos) {
+    int newBatchSize = batchSize;
+    if (latencyNanos > targetLatencyNanos) {
+      newBatchSize = Math.max(1, batchSize / 2);
+    } else if (numberOfEvents >= batchSize) {
+      newBatchSize = Math.min(maximumBatchSize,
+          batchSize + Math.max(1, maximumBatchSize / GROWTH_STEPS));
+    }
+    if (newBatchSize == batchSize) {
+      return false;
+    }
+    batchSize = newBatchSize;
+    return true;
+  }
+}
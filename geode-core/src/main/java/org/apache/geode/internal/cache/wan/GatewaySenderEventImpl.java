@@ -42,6 +42,7 @@ import org.apache.geode.internal.cache.Token;
 import org.apache.geode.internal.cache.WrappedCallbackArgument;
 import org.apache.geode.internal.cache.tier.sockets.Message;
 import org.apache.geode.internal.lang.ObjectUtils;
+import org.apache.geode.internal.offheap.MemoryAllocator;
 import org.apache.geode.internal.offheap.OffHeapHelper;
 import org.apache.geode.internal.offheap.ReferenceCountHelper;
 import org.apache.geode.internal.offheap.Releasable;
@@ -219,6 +220,11 @@ public class GatewaySenderEventImpl
 
   private static final int DEFAULT_SERIALIZED_VALUE_SIZE = -1;
 
+  /**
+   * The percentage of off-heap memory {@link #moveValueOffHeap} leaves free for region entries.
+   */
+  static final int OFF_HEAP_MINIMUM_FREE_PERCENT = 20;
+
   private volatile int serializedValueSize = DEFAULT_SERIALIZED_VALUE_SIZE;
 
   // /**
@@ -689,6 +695,24 @@ public class GatewaySenderEventImpl
     return result;
   }
 
+  /**
+   * Returns the serialized value to write when this event is serialized. Unlike
+   * {@link #getSerializedValue()} an off-heap value is copied without caching the copy on the heap,
+   * so that queued events keep only their off-heap form after being sent to secondary buckets.
+   */
+  private byte[] getSerializedValueToWrite() {
+    if (this.value == null && this.substituteValue == null) {
+      synchronized (this) {
+        @Unretained(OffHeapIdentifier.GATEWAY_SENDER_EVENT_IMPL_VALUE)
+        Object vo = this.valueObj;
+        if (this.value == null && vo instanceof StoredObject) {
+          return ((StoredObject) vo).getValueAsHeapByteArray();
+        }
+      }
+    }
+    return getSerializedValue();
+  }
+
   public void setPossibleDuplicate(boolean possibleDuplicate) {
     this.possibleDuplicate = possibleDuplicate;
   }
@@ -743,7 +767,7 @@ public class GatewaySenderEventImpl
     DataSerializer.writeString(this.regionPath, out);
     out.writeByte(this.valueIsObject);
     serializeKey(out, context);
-    DataSerializer.writeByteArray(getSerializedValue(), out);
+    DataSerializer.writeByteArray(getSerializedValueToWrite(), out);
     context.getSerializer().writeObject(this.callbackArgument, out);
     out.writeBoolean(this.possibleDuplicate);
     out.writeLong(this.creationTime);
@@ -1386,6 +1410,38 @@ public class GatewaySenderEventImpl
     }
   }
 
+  /**
+   * Moves the serialized value of this event into off-heap memory so that only the event header
+   * stays on the java heap while the event is queued. The value is read back, and deserialized,
+   * only when it is needed. Nothing is moved if the value is already off-heap, is a substitute
+   * value, or if the allocator would be left with less than {@link #OFF_HEAP_MINIMUM_FREE_PERCENT}
+   * percent of its memory free, since running out of off-heap memory is fatal to the member.
+   *
+   * @return true if the value was moved off-heap; the event must then be released
+   */
+  public synchronized boolean moveValueOffHeap(MemoryAllocator allocator) {
+    byte[] bytes = this.value;
+    if (bytes == null || this.valueObj != null || this.substituteValue != null) {
+      return false;
+    }
+    long minimumFree = allocator.getTotalMemory() / 100 * OFF_HEAP_MINIMUM_FREE_PERCENT;
+    if (allocator.getFreeMemory() - bytes.length < minimumFree) {
+      return false;
+    }
+    @Retained(OffHeapIdentifier.GATEWAY_SENDER_EVENT_IMPL_VALUE)
+    StoredObject so;
+    ReferenceCountHelper.setReferenceCountOwner(this);
+    try {
+      so = allocator.allocateAndInitialize(bytes, this.valueIsObject == 0x01, false);
+    } finally {
+      ReferenceCountHelper.setReferenceCountOwner(null);
+    }
+    this.serializedValueSize = CachedDeserializableFactory.calcMemSize(bytes);
+    this.valueObj = so;
+    this.value = null;
+    return true;
+  }
+
   public void setAcked(boolean acked) {
     this.isAcked = acked;
   }
@@ -68,6 +68,18 @@ public class GatewaySenderStats {
       "batchesWithIncompleteTransactions";
   /** Name of the batches resized statistic */
   protected static final String BATCHES_RESIZED = "batchesResized";
+  /** Name of the current batch size statistic */
+  protected static final String BATCH_SIZE = "batchSize";
+  /** Name of the batch size adjustments statistic */
+  protected static final String BATCH_SIZE_ADJUSTMENTS = "batchSizeAdjustments";
+  /** Name of the batch acknowledgement time statistic */
+  protected static final String BATCH_ACKNOWLEDGEMENT_TIME = "batchAcknowledgementTime";
+  /** Name of the batch window waits statistic */
+  protected static final String BATCH_WINDOW_WAITS = "batchWindowWaits";
+  /** Name of the batch window wait time statistic */
+  protected static final String BATCH_WINDOW_WAIT_TIME = "batchWindowWaitTime";
+  /** Name of the event dispatch latency statistic */
+  protected static final String EVENT_DISPATCH_LATENCY = "eventDispatchLatency";
   /** Name of the unprocessed events added by primary statistic */
   protected static final String UNPROCESSED_TOKENS_ADDED_BY_PRIMARY =
       "unprocessedTokensAddedByPrimary";
@@ -132,6 +144,18 @@ public class GatewaySenderStats {
   private static final int batchesWithIncompleteTransactionsId;
   /** Id of the batches resized statistic */
   private static final int batchesResizedId;
+  /** Id of the current batch size statistic */
+  private static final int batchSizeId;
+  /** Id of the batch size adjustments statistic */
+  private static final int batchSizeAdjustmentsId;
+  /** Id of the batch acknowledgement time statistic */
+  private static final int batchAcknowledgementTimeId;
+  /** Id of the batch window waits statistic */
+  private static final int batchWindowWaitsId;
+  /** Id of the batch window wait time statistic */
+  private static final int batchWindowWaitTimeId;
+  /** Id of the event dispatch latency statistic */
+  private static final int eventDispatchLatencyId;
   /** Id of the unprocessed events added by primary statistic */
   private static final int unprocessedTokensAddedByPrimaryId;
   /** Id of the unprocessed events added by secondary statistic */
@@ -191,6 +215,12 @@ public class GatewaySenderStats {
     batchesRedistributedId = type.nameToId(BATCHES_REDISTRIBUTED);
     batchesWithIncompleteTransactionsId = type.nameToId(BATCHES_WITH_INCOMPLETE_TRANSACTIONS);
     batchesResizedId = type.nameToId(BATCHES_RESIZED);
+    batchSizeId = type.nameToId(BATCH_SIZE);
+    batchSizeAdjustmentsId = type.nameToId(BATCH_SIZE_ADJUSTMENTS);
+    batchAcknowledgementTimeId = type.nameToId(BATCH_ACKNOWLEDGEMENT_TIME);
+    batchWindowWaitsId = type.nameToId(BATCH_WINDOW_WAITS);
+    batchWindowWaitTimeId = type.nameToId(BATCH_WINDOW_WAIT_TIME);
+    eventDispatchLatencyId = type.nameToId(EVENT_DISPATCH_LATENCY);
     unprocessedTokensAddedByPrimaryId = type.nameToId(UNPROCESSED_TOKENS_ADDED_BY_PRIMARY);
     unprocessedEventsAddedBySecondaryId = type.nameToId(UNPROCESSED_EVENTS_ADDED_BY_SECONDARY);
     unprocessedEventsRemovedByPrimaryId = type.nameToId(UNPROCESSED_EVENTS_REMOVED_BY_PRIMARY);
@@ -252,6 +282,24 @@ public class GatewaySenderStats {
             f.createIntCounter(BATCHES_RESIZED,
                 "Number of batches that were resized because they were too large", "operations",
                 false),
+            f.createIntGauge(BATCH_SIZE,
+                "Batch size currently used to peek events when adaptive batching is enabled.",
+                "operations", false),
+            f.createIntCounter(BATCH_SIZE_ADJUSTMENTS,
+                "Number of times adaptive batching changed the batch size.", "operations",
+                false),
+            f.createLongCounter(BATCH_ACKNOWLEDGEMENT_TIME,
+                "Total time between dispatching batches and receiving their acknowledgements when adaptive batching is enabled.",
+                "nanoseconds", false),
+            f.createIntCounter(BATCH_WINDOW_WAITS,
+                "Number of times dispatching waited because the maximum number of batches were awaiting acknowledgement.",
+                "operations", false),
+            f.createLongCounter(BATCH_WINDOW_WAIT_TIME,
+                "Total time spent waiting for acknowledgements before dispatching another batch.",
+                "nanoseconds", false),
+            f.createLongCounter(EVENT_DISPATCH_LATENCY,
+                "Total time events spent in the queue before being dispatched. A growing average per event distributed means the dispatchers are not keeping up.",
+                "milliseconds", false),
             f.createIntCounter(UNPROCESSED_TOKENS_ADDED_BY_PRIMARY,
                 "Number of tokens added to the secondary's unprocessed token map by the primary (though a listener).",
                 "tokens"),
@@ -526,6 +574,86 @@ public class GatewaySenderStats {
     this.stats.incInt(batchesResizedId, 1);
   }
 
+  /**
+   * Sets the "batchSize" stat.
+   *
+   * @param size The batch size currently used
+   */
+  public void setBatchSize(int size) {
+    this.stats.setInt(batchSizeId, size);
+  }
+
+  /**
+   * Returns the current value of the "batchSize" stat.
+   *
+   * @return the current value of the "batchSize" stat
+   */
+  public int getBatchSize() {
+    return this.stats.getInt(batchSizeId);
+  }
+
+  /**
+   * Increments the value of the "batchSizeAdjustments" stat by 1.
+   */
+  public void incBatchSizeAdjustments() {
+    this.stats.incInt(batchSizeAdjustmentsId, 1);
+  }
+
+  /**
+   * Returns the current value of the "batchSizeAdjustments" stat.
+   *
+   * @return the current value of the "batchSizeAdjustments" stat
+   */
+  public int getBatchSizeAdjustments() {
+    return this.stats.getInt(batchSizeAdjustmentsId);
+  }
+
+  /**
+   * Increments the "batchAcknowledgementTime" stat.
+   *
+   * @param elapsed The time between dispatching a batch and receiving its acknowledgement
+   */
+  public void incBatchAcknowledgementTime(long elapsed) {
+    this.stats.incLong(batchAcknowledgementTimeId, elapsed);
+  }
+
+  /**
+   * Increments the "batchWindowWaits" and "batchWindowWaitTime" stats.
+   *
+   * @param start The time the wait for acknowledgements started
+   */
+  public void endBatchWindowWait(long start) {
+    this.stats.incInt(batchWindowWaitsId, 1);
+    this.stats.incLong(batchWindowWaitTimeId, DistributionStats.getStatTime() - start);
+  }
+
+  /**
+   * Returns the current value of the "batchWindowWaits" stat.
+   *
+   * @return the current value of the "batchWindowWaits" stat
+   */
+  public int getBatchWindowWaits() {
+    return this.stats.getInt(batchWindowWaitsId);
+  }
+
+  /**
+   * Increments the "eventDispatchLatency" stat.
+   *
+   * @param latency The total time the events of a dispatched batch spent in the queue
+   */
+  public void incEventDispatchLatency(long latency) {
+    this.stats.incLong(eventDispatchLatencyId, latency);
+  }
+
+  /**
+   * Returns the current value of the "eventDispatchLatency" stat.
+   *
+   * @return the current value of the "eventDispatchLatency" stat
+   */
+  public long getEventDispatchLatency() {
+    return this.stats.getLong(eventDispatchLatencyId);
+  }
+
   /**
    * Sets the "eventQueueSize" stat.
    *
@@ -37,12 +37,24 @@ import org.apache.geode.internal.cache.wan.AbstractGatewaySenderEventProcessor;
 import org.apache.geode.internal.cache.wan.GatewaySenderEventCallbackDispatcher;
 import org.apache.geode.internal.cache.wan.GatewaySenderEventImpl;
 import org.apache.geode.internal.monitoring.ThreadsMonitoring;
+import org.apache.geode.internal.offheap.MemoryAllocator;
 import org.apache.geode.logging.internal.log4j.api.LogService;
+import org.apache.geode.util.internal.GeodeGlossary;
 
 public class ParallelGatewaySenderEventProcessor extends AbstractGatewaySenderEventProcessor {
 
   private static final Logger logger = LogService.getLogger();
 
+  /**
+   * Whether the serialized values of queued events are moved off-heap when the member has
+   * off-heap memory, leaving only the event headers on the java heap.
+   */
+  static final String OFF_HEAP_QUEUE_VALUES_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "GatewaySender.OFF_HEAP_QUEUE_VALUES";
+
+  private static final boolean OFF_HEAP_QUEUE_VALUES =
+      Boolean.getBoolean(OFF_HEAP_QUEUE_VALUES_PROPERTY);
+
   final int index;
   final int nDispatcher;
 
@@ -125,6 +137,13 @@ public class ParallelGatewaySenderEventProcessor extends AbstractGatewaySenderEv
         new GatewaySenderEventImpl(operation, event, substituteValue, true, eventID.getBucketID(),
             isLastEventInTransaction);
 
+    if (OFF_HEAP_QUEUE_VALUES) {
+      MemoryAllocator offHeapStore = sender.getCache().getOffHeapStore();
+      if (offHeapStore != null) {
+        gatewayQueueEvent.moveValueOffHeap(offHeapStore);
+      }
+    }
+
     enqueueEvent(gatewayQueueEvent);
   }
 
@@ -58,6 +58,25 @@ public class SystemPropertyHelper {
 
   public static final String EVICTION_SEARCH_MAX_ENTRIES = "lru.maxSearchEntries";
 
+  /**
+   * This property splits the eviction list of each LRU region, or of each bucket of an LRU
+   * partitioned region, into the configured number of independently locked stripes. It defaults to
+   * 1, a single list. For more details see
+   * {@link org.apache.geode.internal.cache.eviction.StripedLRUList}.
+   *
+   * @since Geode 1.15
+   */
+  public static final String EVICTION_LIST_STRIPES = "EvictionListStripes";
+
+  /**
+   * When set to "true" LRU regions evict with a frequency based admission policy instead of plain
+   * LRU (defaults to false). For more details see
+   * {@link org.apache.geode.internal.cache.eviction.TinyLFUList}.
+   *
+   * @since Geode 1.15
+   */
+  public static final String EVICTION_TINY_LFU = "EvictionTinyLFU";
+
   public static final String EARLY_ENTRY_EVENT_SERIALIZATION = "earlyEntryEventSerialization";
 
   public static final String DEFAULT_DISK_DIRS_PROPERTY = "defaultDiskDirs";
@@ -46,8 +46,16 @@ public class FreeListManager {
   private final Slab[] slabs;
   private final long totalSlabSize;
 
-  private final AtomicReferenceArray<OffHeapStoredObjectAddressStack> tinyFreeLists =
-      new AtomicReferenceArray<OffHeapStoredObjectAddressStack>(TINY_FREE_LIST_COUNT);
+  /**
+   * The number of free lists kept for each tiny size. Each thread frees to, and first allocates
+   * from, the free list selected by its id so that threads do not all contend on the same list.
+   */
+  private final int freeListStripes;
+  /**
+   * The tiny free lists. The free lists of tiny size index i are at i * freeListStripes up to
+   * (i + 1) * freeListStripes - 1.
+   */
+  private final AtomicReferenceArray<OffHeapStoredObjectAddressStack> tinyFreeLists;
   // hugeChunkSet is sorted by chunk size in ascending order. It will only contain chunks larger
   // than MAX_TINY.
   private final ConcurrentSkipListSet<OffHeapStoredObject> hugeChunkSet =
@@ -142,8 +150,15 @@ public class FreeListManager {
   private final MemoryAllocatorImpl ma;
 
   public FreeListManager(MemoryAllocatorImpl ma, final Slab[] slabs) {
+    this(ma, slabs, TINY_FREE_LIST_STRIPES);
+  }
+
+  FreeListManager(MemoryAllocatorImpl ma, final Slab[] slabs, int freeListStripes) {
     this.ma = ma;
     this.slabs = slabs;
+    this.freeListStripes = Math.max(1, freeListStripes);
+    this.tinyFreeLists = new AtomicReferenceArray<OffHeapStoredObjectAddressStack>(
+        TINY_FREE_LIST_COUNT * this.freeListStripes);
     long total = 0;
     Fragment[] tmp = new Fragment[slabs.length];
     for (int i = 0; i < slabs.length; i++) {
@@ -314,6 +329,11 @@ public class FreeListManager {
   static {
     verifyOffHeapFreeListCount(TINY_FREE_LIST_COUNT);
   }
+  /**
+   * Number of free lists to keep for each tiny size.
+   */
+  public static final int TINY_FREE_LIST_STRIPES =
+      Integer.getInteger(GeodeGlossary.GEMFIRE_PREFIX + "OFF_HEAP_FREE_LIST_STRIPES", 1);
   /**
    * How many unused bytes are allowed in a huge memory allocation.
    */
@@ -413,6 +433,10 @@ public class FreeListManager {
       return size;
     }
 
+    public void sort() {
+      Arrays.sort(data, 0, size);
+    }
+
     public long get(int idx) {
       return data[idx];
     }
@@ -423,9 +447,7 @@ public class FreeListManager {
 
     public void add(long l) {
       if (size >= data.length) {
-        long[] newData = new long[data.length + SORT_ARRAY_BLOCK_SIZE];
-        System.arraycopy(data, 0, newData, 0, data.length);
-        data = newData;
+        data = Arrays.copyOf(data, data.length * 2);
       }
       data[size] = l;
       size++;
@@ -455,39 +477,23 @@ public class FreeListManager {
     boolean result = false;
     ArrayList<LongStack> freeChunks = new ArrayList<LongStack>();
     collectFreeChunks(freeChunks);
-    ResizableLongArray sorted = new ResizableLongArray();
+    ResizableLongArray addresses = new ResizableLongArray();
     for (LongStack l : freeChunks) {
       long addr = l.poll();
       while (addr != 0) {
-        int idx = sorted.binarySearch(addr);
-        idx = -idx;
-        idx--;
-        int sortedSize = sorted.size();
-        if (idx == sortedSize) {
-          // addr is > everything in the array
-          if (sortedSize == 0) {
-            // nothing was in the array
-            sorted.add(addr);
-          } else {
-            if (!combineIfAdjacentAndSmallEnough(sorted.get(idx - 1), addr)) {
-              sorted.add(addr);
-            }
-          }
-        } else {
-          if (combineIfAdjacentAndSmallEnough(addr, sorted.get(idx))) {
-            sorted.set(idx, addr);
-          } else {
-            if (idx == 0 || !combineIfAdjacentAndSmallEnough(sorted.get(idx - 1), addr)) {
-              sorted.insert(idx, addr);
-            }
-          }
-        }
+        addresses.add(addr);
         addr = l.poll();
       }
     }
-    for (int i = sorted.size() - 1; i > 0; i--) {
-      if (combineIfAdjacentAndSmallEnough(sorted.get(i - 1), sorted.get(i))) {
-        sorted.set(i, 0L);
+    // Sorting once and then combining in a single pass keeps the time spent holding the
+    // defragmentation lock at n log n instead of inserting each chunk into a sorted array.
+    addresses.sort();
+    ResizableLongArray sorted = new ResizableLongArray();
+    for (int i = 0; i < addresses.size(); i++) {
+      long addr = addresses.get(i);
+      int sortedSize = sorted.size();
+      if (sortedSize == 0 || !combineIfAdjacentAndSmallEnough(sorted.get(sortedSize - 1), addr)) {
+        sorted.add(addr);
       }
     }
 
@@ -496,9 +502,6 @@ public class FreeListManager {
     ArrayList<Fragment> tmp = new ArrayList<Fragment>();
     for (int i = sorted.size() - 1; i >= 0; i--) {
       long addr = sorted.get(i);
-      if (addr == 0L) {
-        continue;
-      }
       int addrSize = OffHeapStoredObject.getSize(addr);
       Fragment f = createFragment(addr, addrSize);
       if (addrSize >= chunkSize) {
@@ -708,14 +711,20 @@ public class FreeListManager {
 
   private OffHeapStoredObject basicAllocate(int idx, int multiple, int offset,
       AtomicReferenceArray<OffHeapStoredObjectAddressStack> freeLists, boolean useFragments) {
-    OffHeapStoredObjectAddressStack clq = freeLists.get(idx);
-    if (clq != null) {
-      long memAddr = clq.poll();
-      if (memAddr != 0) {
-        OffHeapStoredObject result = new OffHeapStoredObject(memAddr);
-        checkDataIntegrity(result);
-        result.readyForAllocation();
-        return result;
+    // Try this thread's free list first, then the other free lists of this size, before
+    // carving new memory out of the fragments.
+    final int stripe = getFreeListStripe();
+    for (int i = 0; i < this.freeListStripes; i++) {
+      OffHeapStoredObjectAddressStack clq =
+          freeLists.get(idx * this.freeListStripes + (stripe + i) % this.freeListStripes);
+      if (clq != null) {
+        long memAddr = clq.poll();
+        if (memAddr != 0) {
+          OffHeapStoredObject result = new OffHeapStoredObject(memAddr);
+          checkDataIntegrity(result);
+          result.readyForAllocation();
+          return result;
+        }
       }
     }
     if (useFragments) {
@@ -800,7 +809,15 @@ public class FreeListManager {
   }
 
   private void freeTiny(long addr, int cSize) {
-    basicFree(addr, getNearestTinyMultiple(cSize), this.tinyFreeLists);
+    basicFree(addr, getNearestTinyMultiple(cSize) * this.freeListStripes + getFreeListStripe(),
+        this.tinyFreeLists);
+  }
+
+  private int getFreeListStripe() {
+    if (this.freeListStripes == 1) {
+      return 0;
+    }
+    return (int) (Thread.currentThread().getId() % this.freeListStripes);
   }
 
   private void basicFree(long addr, int idx,
@@ -872,7 +889,8 @@ public class FreeListManager {
       }
       long addr = this.tinyFreeLists.get(i).getTopAddress();
       while (addr != 0L) {
-        value.add(new MemoryBlockNode(sma, new TinyMemoryBlock(addr, i)));
+        value.add(
+            new MemoryBlockNode(sma, new TinyMemoryBlock(addr, i / this.freeListStripes)));
         addr = OffHeapStoredObject.getNext(addr);
       }
     }
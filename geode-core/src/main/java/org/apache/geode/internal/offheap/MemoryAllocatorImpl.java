@@ -294,7 +294,9 @@ public class MemoryAllocatorImpl implements MemoryAllocator {
   }
 
   private OffHeapStoredObject allocateOffHeapStoredObject(int size) {
+    long start = stats.startAllocation();
     OffHeapStoredObject result = this.freeList.allocate(size);
+    stats.endAllocation(start);
     int resultSize = result.getSize();
     stats.incObjects(1);
     stats.incUsedMemory(resultSize);
@@ -43,6 +43,10 @@ public interface OffHeapMemoryStats {
 
   void setFragmentation(int value);
 
+  long startAllocation();
+
+  void endAllocation(long start);
+
   long getFreeMemory();
 
   long getMaxMemory();
@@ -65,6 +69,10 @@ public interface OffHeapMemoryStats {
 
   long getDefragmentationTime();
 
+  long getAllocations();
+
+  long getAllocationTime();
+
   Statistics getStats();
 
   void close();
@@ -61,6 +61,8 @@ public class OffHeapStorage implements OffHeapMemoryStats {
   private static final int defragmentationTimeId;
   private static final int fragmentationId;
   private static final int defragmentationsInProgressId;
+  private static final int allocationsId;
+  private static final int allocationTimeId;
   // NOTE!!!! When adding new stats make sure and update the initialize method on this class
 
   // creates and registers the statistics type
@@ -87,6 +89,9 @@ public class OffHeapStorage implements OffHeapMemoryStats {
         "The total number of reads of off-heap memory. Only reads of a full object increment this statistic. If only a part of the object is read this statistic is not incremented.";
     final String maxMemoryDesc =
         "The maximum amount of off-heap memory, in bytes. This is the amount of memory allocated at startup and does not change.";
+    final String allocationsDesc = "The total number of allocations of off-heap memory.";
+    final String allocationTimeDesc =
+        "The total time spent allocating off-heap memory, including any defragmentation the allocations caused.";
 
     final String usedMemory = "usedMemory";
     final String defragmentations = "defragmentations";
@@ -99,6 +104,8 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     final String objects = "objects";
     final String reads = "reads";
     final String maxMemory = "maxMemory";
+    final String allocations = "allocations";
+    final String allocationTime = "allocationTime";
 
     statsType = f.createType(statsTypeName, statsTypeDescription,
         new StatisticDescriptor[] {f.createLongGauge(usedMemory, usedMemoryDesc, "bytes"),
@@ -112,7 +119,9 @@ public class OffHeapStorage implements OffHeapMemoryStats {
             f.createIntGauge(largestFragment, largestFragmentDesc, "bytes"),
             f.createIntGauge(objects, objectsDesc, "objects"),
             f.createLongCounter(reads, readsDesc, "operations"),
-            f.createLongGauge(maxMemory, maxMemoryDesc, "bytes"),});
+            f.createLongGauge(maxMemory, maxMemoryDesc, "bytes"),
+            f.createLongCounter(allocations, allocationsDesc, "operations"),
+            f.createLongCounter(allocationTime, allocationTimeDesc, "nanoseconds", false),});
 
     usedMemoryId = statsType.nameToId(usedMemory);
     defragmentationId = statsType.nameToId(defragmentations);
@@ -125,6 +134,8 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     objectsId = statsType.nameToId(objects);
     readsId = statsType.nameToId(reads);
     maxMemoryId = statsType.nameToId(maxMemory);
+    allocationsId = statsType.nameToId(allocations);
+    allocationTimeId = statsType.nameToId(allocationTime);
   }
 
   public static long parseOffHeapMemorySize(String value) {
@@ -377,6 +388,29 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     return stats.getLong(defragmentationTimeId);
   }
 
+  @Override
+  public long startAllocation() {
+    return DistributionStats.getStatTime();
+  }
+
+  @Override
+  public void endAllocation(long start) {
+    this.stats.incLong(allocationsId, 1);
+    if (DistributionStats.enableClockStats) {
+      stats.incLong(allocationTimeId, DistributionStats.getStatTime() - start);
+    }
+  }
+
+  @Override
+  public long getAllocations() {
+    return this.stats.getLong(allocationsId);
+  }
+
+  @Override
+  public long getAllocationTime() {
+    return stats.getLong(allocationTimeId);
+  }
+
   @Override
   public void setFragmentation(int value) {
     this.stats.setInt(fragmentationId, value);
@@ -410,6 +444,8 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     setLargestFragment(oldStats.getLargestFragment());
     setDefragmentationTime(oldStats.getDefragmentationTime());
     setFragmentation(oldStats.getFragmentation());
+    stats.setLong(allocationsId, oldStats.getAllocations());
+    stats.setLong(allocationTimeId, oldStats.getAllocationTime());
 
     oldStats.close();
   }
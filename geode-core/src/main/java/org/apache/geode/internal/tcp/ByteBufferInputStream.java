@@ -143,12 +143,16 @@ public class ByteBufferInputStream extends InputStream
   }
 
   public static class ByteBufferByteSource implements ByteSource {
-    private final ByteBuffer bb;
+    private ByteBuffer bb;
 
     public ByteBufferByteSource(ByteBuffer bb) {
       this.bb = bb;
     }
 
+    private void reset(ByteBuffer bb) {
+      this.bb = bb;
+    }
+
     /**
      * Returns the current hash code of this byte source.
      *
@@ -816,6 +820,23 @@ public class ByteBufferInputStream extends InputStream
     setBuffer(ByteSourceFactory.create(bb));
   }
 
+  /**
+   * Like {@link #setBuffer(ByteBuffer)} but reuses the current byte source, if it wraps a
+   * ByteBuffer, instead of allocating a new one. Only for streams that are never shared, such as
+   * the one a connection reads each of its messages with, since anything holding on to the
+   * previous {@link #getBuffer()} will see the new buffer.
+   */
+  public void resetBuffer(ByteBuffer bb) {
+    if (bb == null) {
+      throw new NullPointerException();
+    }
+    if (buffer instanceof ByteBufferByteSource) {
+      ((ByteBufferByteSource) buffer).reset(bb);
+    } else {
+      setBuffer(bb);
+    }
+  }
+
   /**
    * See the InputStream read method for javadocs. Note that if an attempt to read past the end of
    * the wrapped ByteBuffer is done this method throws BufferUnderflowException
@@ -35,6 +35,7 @@ import java.nio.channels.CancelledKeyException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.ClosedSelectorException;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -148,6 +149,12 @@ public class Connection implements Runnable {
   private final TCPConduit conduit;
   private NioFilter ioFilter;
 
+  /**
+   * Reused by the reader thread to deserialize normal messages. Created after the handshake, once
+   * the remote version is known.
+   */
+  private ByteBufferInputStream messageInputStream;
+
   /**
    * Set to false once run() is terminating. Using this instead of Thread.isAlive as the reader
    * thread may be a pooled thread.
@@ -183,6 +190,12 @@ public class Connection implements Runnable {
    */
   private final Object outLock = new Object();
 
+  /**
+   * Writes queued by threads waiting for outLock when {@link #COALESCE_WRITES} is set. Whichever
+   * thread gets outLock first writes all of them with one gathering write.
+   */
+  private final List<PendingWrite> pendingWrites = new ArrayList<>();
+
   /**
    * the ID string of the conduit (for logging)
    */
@@ -430,6 +443,22 @@ public class Connection implements Runnable {
   private static final int BATCH_BUFFER_SIZE =
       Integer.getInteger("p2p.batchBufferSize", 1024 * 1024);
   private static final int BATCH_FLUSH_MS = Integer.getInteger("p2p.batchFlushTime", 50);
+
+  /**
+   * If true, messages that concurrent threads send on the same shared connection are coalesced:
+   * the thread that gets the socket writes all the messages queued by the threads waiting for it
+   * with a single gathering write. Unlike p2p.batchSends nothing is delayed, and a sender still
+   * returns only once its message has been written, so messages are only batched when the
+   * connection is already busy.
+   */
+  private static final boolean COALESCE_WRITES = Boolean.getBoolean("p2p.coalesceWrites");
+
+  /**
+   * The maximum number of queued messages written by one coalesced write. At least one, so that
+   * every write makes progress.
+   */
+  private static final int MAX_COALESCED_WRITES =
+      Math.max(1, Integer.getInteger("p2p.maxCoalescedWrites", 64));
   private final Object batchLock = new Object();
   private ByteBuffer fillBatchBuffer;
   private ByteBuffer sendBatchBuffer;
@@ -2632,6 +2661,10 @@ public class Connection implements Runnable {
       stats.incTOSentMsg();
     }
     if (useSyncWrites(forceAsync)) {
+      if (canCoalesceWrites()) {
+        writeCoalesced(channel, buffer, stats);
+        return;
+      }
       if (asyncQueuingInProgress) {
         if (addToQueue(buffer, msg, false)) {
           return;
@@ -2667,6 +2700,111 @@ public class Connection implements Runnable {
     }
   }
 
+  /**
+   * Coalescing is only done on plain text sender connections that never queue asynchronously, so
+   * that the buffers can be written as they are and no write is ever handed to the pusher.
+   */
+  private boolean canCoalesceWrites() {
+    return COALESCE_WRITES && sharedResource && !isReceiver && asyncDistributionTimeout == 0
+        && ioFilter instanceof NioPlainEngine;
+  }
+
+  /**
+   * Queues the buffer and waits for outLock. If another thread wrote the buffer while this thread
+   * was waiting it just returns, otherwise it writes the buffer along with any others queued.
+   */
+  @VisibleForTesting
+  void writeCoalesced(SocketChannel channel, ByteBuffer buffer, DMStats stats)
+      throws IOException {
+    final PendingWrite write = new PendingWrite(buffer);
+    synchronized (pendingWrites) {
+      pendingWrites.add(write);
+    }
+    long startLock = stats.startSocketLock();
+    synchronized (outLock) {
+      stats.endSocketLock(startLock);
+      while (!write.done) {
+        writePendingWrites(channel, stats);
+      }
+      final Throwable failure = write.failure;
+      if (failure instanceof IOException) {
+        throw (IOException) failure;
+      } else if (failure instanceof RuntimeException) {
+        throw (RuntimeException) failure;
+      } else if (failure instanceof Error) {
+        throw (Error) failure;
+      } else if (failure != null) {
+        throw new IOException(failure);
+      }
+    }
+  }
+
+  @VisibleForTesting
+  int getPendingWriteCount() {
+    synchronized (pendingWrites) {
+      return pendingWrites.size();
+    }
+  }
+
+  /**
+   * Writes the oldest queued buffers with one gathering write. Must be called holding outLock.
+   */
+  private void writePendingWrites(SocketChannel channel, DMStats stats) {
+    final PendingWrite[] writes;
+    synchronized (pendingWrites) {
+      int count = Math.min(pendingWrites.size(), MAX_COALESCED_WRITES);
+      List<PendingWrite> head = pendingWrites.subList(0, count);
+      writes = head.toArray(new PendingWrite[count]);
+      head.clear();
+    }
+    final ByteBuffer[] buffers = new ByteBuffer[writes.length];
+    for (int i = 0; i < writes.length; i++) {
+      buffers[i] = writes[i].buffer;
+    }
+    try {
+      int offset = 0;
+      while (offset < buffers.length) {
+        long amtWritten = 0;
+        long start = stats.startSocketWrite(true);
+        try {
+          amtWritten = channel.write(buffers, offset, buffers.length - offset);
+        } finally {
+          stats.endSocketWrite(true, start, amtWritten, 0);
+        }
+        while (offset < buffers.length && !buffers[offset].hasRemaining()) {
+          offset++;
+        }
+      }
+    } catch (Throwable e) {
+      // every thread whose buffer was in this write must see the failure, otherwise it would
+      // return as if its message had been sent
+      for (PendingWrite write : writes) {
+        write.failure = e;
+      }
+    } finally {
+      for (PendingWrite write : writes) {
+        write.done = true;
+      }
+    }
+    if (writes.length > 1) {
+      stats.incCoalescedSocketWrites(writes.length);
+    }
+  }
+
+  /**
+   * A buffer queued by {@link #writeCoalesced}. Its fields are only read and written holding
+   * outLock.
+   */
+  private static class PendingWrite {
+    private final ByteBuffer buffer;
+    private boolean done;
+    private Throwable failure;
+
+    private PendingWrite(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+  }
+
   /**
    * @throws SocketTimeoutException if wait expires.
    * @throws ConnectionException if ack is not received
@@ -2995,12 +3133,26 @@ public class Connection implements Runnable {
     return false;
   }
 
+  /**
+   * Returns the stream the reader thread deserializes normal messages with, pointed at the given
+   * buffer. Messages are read in place from the receive buffer, and the stream and its byte source
+   * are reused for every message instead of being allocated per message.
+   */
+  private ByteBufferInputStream getMessageInputStream(ByteBuffer peerDataBuffer) {
+    ByteBufferInputStream bbis = messageInputStream;
+    if (bbis == null) {
+      bbis = remoteVersion == null ? new ByteBufferInputStream()
+          : new VersionedByteBufferInputStream(remoteVersion);
+      messageInputStream = bbis;
+    }
+    bbis.resetBuffer(peerDataBuffer);
+    return bbis;
+  }
+
   private void readMessage(ByteBuffer peerDataBuffer, AbstractExecutor threadMonitorExecutor) {
     if (messageType == NORMAL_MSG_TYPE) {
       owner.getConduit().getStats().incMessagesBeingReceived(true, messageLength);
-      try (ByteBufferInputStream bbis =
-          remoteVersion == null ? new ByteBufferInputStream(peerDataBuffer)
-              : new VersionedByteBufferInputStream(peerDataBuffer, remoteVersion)) {
+      try (ByteBufferInputStream bbis = getMessageInputStream(peerDataBuffer)) {
         ReplyProcessor21.initMessageRPId();
         // add serialization stats
         long startSer = owner.getConduit().getStats().startMsgDeserialization();
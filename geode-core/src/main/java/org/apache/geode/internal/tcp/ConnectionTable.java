@@ -82,6 +82,13 @@ public class ConnectionTable {
    */
   private final Map orderedConnectionMap = new ConcurrentHashMap();
 
+  /**
+   * Shared ordered connections used instead of thread owned connections when
+   * {@link #ORDERED_CONNECTIONS_PER_MEMBER} is set. Each map is keyed like orderedConnectionMap and
+   * a thread always uses the same map.
+   */
+  private final Map[] orderedConnectionStripes;
+
   /**
    * ordered connections local to this thread.
    */
@@ -134,6 +141,24 @@ public class ConnectionTable {
   private static final long READER_POOL_KEEP_ALIVE_TIME =
       Long.getLong("p2p.READER_POOL_KEEP_ALIVE_TIME", 120);
 
+  /**
+   * System property with the number of shared ordered connections kept to each member for threads
+   * that would otherwise own their own ordered connection (conserve-sockets=false). Each thread
+   * always uses the same one of these connections so its messages stay ordered, while the number of
+   * sockets and reader threads per member no longer grows with the number of sending threads. Zero,
+   * the default, keeps one connection per sending thread.
+   *
+   * <p>
+   * These connections handshake as shared, so the receiving member reads each of them with a
+   * shared reader thread. Serial messages are still processed inline by that reader rather than
+   * by the member's serial executor, except the ones that may notify a serial gateway sender, as
+   * for any shared ordered connection. Replies are not read from them either, so messages sent on
+   * them never use direct acks. Threads that asked for their own resources, such as thread owned
+   * readers and domino threads, keep their thread owned connections.
+   */
+  @VisibleForTesting
+  static final String ORDERED_CONNECTIONS_PER_MEMBER = "p2p.ORDERED_CONNECTIONS_PER_MEMBER";
+
   private final SocketCloser socketCloser;
 
   /**
@@ -185,16 +210,25 @@ public class ConnectionTable {
   }
 
   public static ConnectionTable create(TCPConduit conduit) {
-    ConnectionTable ct = new ConnectionTable(conduit);
+    return create(conduit, Integer.getInteger(ORDERED_CONNECTIONS_PER_MEMBER, 0));
+  }
+
+  @VisibleForTesting
+  static ConnectionTable create(TCPConduit conduit, int orderedConnectionsPerMember) {
+    ConnectionTable ct = new ConnectionTable(conduit, orderedConnectionsPerMember);
     lastInstance.set(ct);
     return ct;
   }
 
-  private ConnectionTable(TCPConduit conduit) {
+  private ConnectionTable(TCPConduit conduit, int orderedConnectionsPerMember) {
     owner = conduit;
     idleConnTimer = owner.idleConnectionTimeout != 0
         ? new SystemTimer(conduit.getDM().getSystem()) : null;
     threadConnectionMap = new ConcurrentHashMap();
+    orderedConnectionStripes = new Map[Math.max(orderedConnectionsPerMember, 0)];
+    for (int i = 0; i < orderedConnectionStripes.length; i++) {
+      orderedConnectionStripes[i] = new ConcurrentHashMap();
+    }
     p2pReaderThreadPool = createThreadPoolForIO(conduit.getDM().getSystem().isShareSockets());
     socketCloser = new SocketCloser();
     bufferPool = conduit.getBufferPool();
@@ -354,8 +388,13 @@ public class ConnectionTable {
   private Connection getSharedConnection(InternalDistributedMember id, boolean scheduleTimeout,
       boolean preserveOrder, long startTime, long ackTimeout, long ackSATimeout)
       throws IOException, DistributedSystemDisconnectedException {
+    return getSharedConnection(id, preserveOrder ? orderedConnectionMap : unorderedConnectionMap,
+        scheduleTimeout, preserveOrder, startTime, ackTimeout, ackSATimeout);
+  }
 
-    final Map m = preserveOrder ? orderedConnectionMap : unorderedConnectionMap;
+  private Connection getSharedConnection(InternalDistributedMember id, Map m,
+      boolean scheduleTimeout, boolean preserveOrder, long startTime, long ackTimeout,
+      long ackSATimeout) throws IOException, DistributedSystemDisconnectedException {
 
     // new connection, if needed
     PendingConnection pc = null;
@@ -373,7 +412,7 @@ public class ConnectionTable {
         }
       }
       if (mEntry == null) {
-        pc = new PendingConnection(preserveOrder, id);
+        pc = new PendingConnection(preserveOrder, id, m);
         m.put(id, pc);
       }
     }
@@ -546,6 +585,9 @@ public class ConnectionTable {
     if (!preserveOrder || !threadOwnsResources) {
       result = getSharedConnection(id, threadOwnsResources, preserveOrder, startTime, ackTimeout,
           ackSATimeout);
+    } else if (threadUsesOrderedConnectionStripe()) {
+      result = getSharedConnection(id, getOrderedConnectionStripe(Thread.currentThread()), false,
+          true, startTime, ackTimeout, ackSATimeout);
     } else {
       result = getThreadOwnedConnection(id, startTime, ackTimeout, ackSATimeout);
     }
@@ -555,6 +597,25 @@ public class ConnectionTable {
     return result;
   }
 
+  /**
+   * Returns true if the calling thread sends its ordered messages on one of the shared
+   * {@link #orderedConnectionStripes} instead of its own connection. Domino threads, and readers
+   * that registered for their own resources, keep their own connections.
+   */
+  private boolean threadUsesOrderedConnectionStripe() {
+    return orderedConnectionStripes.length > 0 && !Connection.isDominoThread()
+        && !Boolean.TRUE.equals(threadWantsOwnResources.get());
+  }
+
+  /**
+   * Returns the map of shared ordered connections used by the given thread in place of thread owned
+   * connections.
+   */
+  @VisibleForTesting
+  Map getOrderedConnectionStripe(Thread thread) {
+    return orderedConnectionStripes[(int) (thread.getId() % orderedConnectionStripes.length)];
+  }
+
   synchronized void fileDescriptorsExhausted() {
     if (!ulimitWarningIssued) {
       ulimitWarningIssued = true;
@@ -621,6 +682,14 @@ public class ConnectionTable {
       }
       orderedConnectionMap.clear();
     }
+    for (Map stripe : orderedConnectionStripes) {
+      synchronized (stripe) {
+        for (Object o : stripe.values()) {
+          closeCon("Connection table being destroyed", o);
+        }
+        stripe.clear();
+      }
+    }
     synchronized (unorderedConnectionMap) {
       for (Object o : unorderedConnectionMap.values()) {
         closeCon("Connection table being destroyed", o);
@@ -726,6 +795,9 @@ public class ConnectionTable {
         }
       }
     }
+    for (int i = 0; !needsRemoval && i < orderedConnectionStripes.length; i++) {
+      needsRemoval = orderedConnectionStripes[i].get(memberID) != null;
+    }
     if (!needsRemoval) {
       ConcurrentMap cm = threadConnectionMap;
       if (cm != null) {
@@ -750,6 +822,15 @@ public class ConnectionTable {
         }
         closeCon(reason, c);
       }
+      for (Map stripe : orderedConnectionStripes) {
+        synchronized (stripe) {
+          Object c = stripe.remove(memberID);
+          if (remoteAddress == null && c instanceof Connection) {
+            remoteAddress = ((Connection) c).getRemoteAddress();
+          }
+          closeCon(reason, c);
+        }
+      }
 
       ConcurrentMap cm = threadConnectionMap;
       if (cm != null) {
@@ -872,6 +953,13 @@ public class ConnectionTable {
           closeCon(reason, orderedConnectionMap.remove(stub));
         }
       }
+      for (Map stripe : orderedConnectionStripes) {
+        synchronized (stripe) {
+          if (stripe.get(stub) == c) {
+            closeCon(reason, stripe.remove(stub));
+          }
+        }
+      }
     } else {
       synchronized (unorderedConnectionMap) {
         if (unorderedConnectionMap.get(stub) == c) {
@@ -1047,11 +1135,17 @@ public class ConnectionTable {
      */
     private final DistributedMember id;
 
+    /**
+     * the map this pending connection was put in
+     */
+    private final Map connectionMap;
+
     private final Thread connectingThread;
 
-    private PendingConnection(boolean preserveOrder, DistributedMember id) {
+    private PendingConnection(boolean preserveOrder, DistributedMember id, Map connectionMap) {
       this.preserveOrder = preserveOrder;
       this.id = id;
+      this.connectionMap = connectionMap;
       connectingThread = Thread.currentThread();
     }
 
@@ -1089,7 +1183,7 @@ public class ConnectionTable {
         throw new ReenteredConnectException("This thread is already trying to connect");
       }
 
-      final Map m = preserveOrder ? orderedConnectionMap : unorderedConnectionMap;
+      final Map m = connectionMap;
 
       DistributedMember targetMember = null;
       if (ackSATimeout > 0) {
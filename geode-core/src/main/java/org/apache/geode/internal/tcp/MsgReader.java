@@ -96,7 +96,7 @@ public class MsgReader {
       this.getStats().incMessagesBeingReceived(true, header.messageLength);
       long startSer = this.getStats().startMsgDeserialization();
       try {
-        byteBufferInputStream.setBuffer(nioInputBuffer);
+        byteBufferInputStream.resetBuffer(nioInputBuffer);
         ReplyProcessor21.initMessageRPId();
         return (DistributionMessage) InternalDataSerializer.readDSFID(byteBufferInputStream);
       } catch (RuntimeException e) {
@@ -18,7 +18,6 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
-import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonParser.Feature;
@@ -29,6 +28,7 @@ import org.apache.geode.cache.RegionService;
 import org.apache.geode.cache.client.internal.ProxyCache;
 import org.apache.geode.cache.client.internal.UserAttributes;
 import org.apache.geode.pdx.internal.json.JSONToPdxMapper;
+import org.apache.geode.pdx.internal.json.JsonHelper;
 import org.apache.geode.pdx.internal.json.PdxInstanceHelper;
 import org.apache.geode.pdx.internal.json.PdxInstanceSortedHelper;
 import org.apache.geode.pdx.internal.json.PdxListHelper;
@@ -188,10 +188,10 @@ public class JSONFormatter {
     JsonParser jp = null;
     try {
       if (json instanceof String) {
-        jp = new JsonFactory().createParser((String) json);
+        jp = JsonHelper.getJsonFactory().createParser((String) json);
 
       } else if (json instanceof byte[]) {
-        jp = new JsonFactory().createParser((byte[]) json);
+        jp = JsonHelper.getJsonFactory().createParser((byte[]) json);
       } else {
         throw new JSONFormatterException("Could not parse the " + json.getClass() + " type");
       }
@@ -207,6 +207,20 @@ public class JSONFormatter {
           e);
     } finally {
       UserAttributes.userAttributes.set(null);
+      closeParser(jp);
+    }
+  }
+
+  /**
+   * Closing the parser hands its buffers back to the factory's recycler for the next document.
+   */
+  private void closeParser(JsonParser jp) {
+    if (jp != null) {
+      try {
+        jp.close();
+      } catch (IOException ignored) {
+        // nothing to release
+      }
     }
   }
 
@@ -470,7 +470,7 @@ public class PdxInstanceImpl extends PdxReaderImpl implements InternalPdxInstanc
       result.append(fieldType.getFieldName());
       result.append("=");
       try {
-        final Object value = ur.readField(fieldType.getFieldName());
+        final Object value = ur.readField(fieldType);
         if (value instanceof byte[]) {
           result.append(Hex.toHex((byte[]) value));
         } else if (value.getClass().isArray()) {
@@ -616,8 +616,13 @@ public class PdxInstanceImpl extends PdxReaderImpl implements InternalPdxInstanc
   }
 
   @Override
-  public synchronized Object readField(String fieldName) {
-    return super.readField(fieldName);
+  public Object readField(PdxField ft) {
+    if (ft.isVariableLengthType()) {
+      synchronized (this) {
+        return super.readField(ft);
+      }
+    }
+    return super.readField(ft);
   }
 
   @Override
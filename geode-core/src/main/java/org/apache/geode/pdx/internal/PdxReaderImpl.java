@@ -695,6 +695,14 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
     if (ft == null) {
       return null;
     }
+    return readField(ft);
+  }
+
+  /**
+   * Reads the value of a field of this reader's type that has already been looked up, so callers
+   * that have the {@link PdxField} do not pay for a second lookup by name.
+   */
+  public Object readField(PdxField ft) {
     switch (ft.getFieldType()) {
       case CHAR:
         return readChar(ft);
@@ -946,7 +954,7 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
   }
 
   /**
-   * @return PdxString if field is a String otherwise invokes {@link #readField(String)}
+   * @return PdxString if field is a String otherwise invokes {@link #readField(PdxField)}
    */
   public Object readRawField(String field) {
     PdxField ft = blobType.getPdxField(field);
@@ -961,7 +969,7 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
         return pdxString;
       }
     }
-    return readField(field);
+    return readField(ft);
   }
 
   /**
@@ -62,6 +62,7 @@ public class PdxType implements DataSerializable {
 
   private final transient Map<String, PdxField> fieldsMap = new HashMap<String, PdxField>();
   private transient volatile SortedSet<PdxField> sortedIdentityFields;
+  private transient volatile List<String> fieldNames;
 
   public PdxType() {
     // for deserialization
@@ -262,6 +263,7 @@ public class PdxType implements DataSerializable {
   }
 
   public void addField(PdxField ft) {
+    this.fieldNames = null;
     if (this.fieldsMap.put(ft.getFieldName(), ft) != null) {
       throw new PdxFieldAlreadyExistsException(
           "The field \"" + ft.getFieldName() + "\" already exists.");
@@ -442,13 +444,18 @@ public class PdxType implements DataSerializable {
 
   // Result does not include deleted fields
   public List<String> getFieldNames() {
-    ArrayList<String> result = new ArrayList<String>(this.fields.size());
-    for (PdxField f : this.fields) {
-      if (!f.isDeleted()) {
-        result.add(f.getFieldName());
+    List<String> result = this.fieldNames;
+    if (result == null) {
+      ArrayList<String> names = new ArrayList<String>(this.fields.size());
+      for (PdxField f : this.fields) {
+        if (!f.isDeleted()) {
+          names.add(f.getFieldName());
+        }
       }
+      result = Collections.unmodifiableList(names);
+      this.fieldNames = result;
     }
-    return Collections.unmodifiableList(result);
+    return result;
   }
 
   /**
@@ -500,5 +507,6 @@ public class PdxType implements DataSerializable {
 
   public void setHasDeletedField(boolean b) {
     this.hasDeletedField = b;
+    this.fieldNames = null;
   }
 }
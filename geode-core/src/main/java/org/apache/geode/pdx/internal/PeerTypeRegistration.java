@@ -437,6 +437,7 @@ public class PeerTypeRegistration implements TypeRegistration {
   @SuppressWarnings("unchecked")
   private <T> T getById(Object typeId) {
     verifyConfiguration();
+    long start = statistics.startLookup();
     TXStateProxy currentState = suspendTX();
     try {
       T pdxType = (T) getIdToType().get(typeId);
@@ -451,6 +452,7 @@ public class PeerTypeRegistration implements TypeRegistration {
       return pdxType;
     } finally {
       resumeTX(currentState);
+      statistics.endLookup(start);
     }
 
   }
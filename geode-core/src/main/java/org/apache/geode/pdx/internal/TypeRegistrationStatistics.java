@@ -19,6 +19,7 @@ import org.apache.geode.StatisticDescriptor;
 import org.apache.geode.Statistics;
 import org.apache.geode.StatisticsFactory;
 import org.apache.geode.StatisticsType;
+import org.apache.geode.distributed.internal.DistributionStats;
 
 class TypeRegistrationStatistics {
   static final String TYPE_DEFINED = "typeDefined";
@@ -26,12 +27,16 @@ class TypeRegistrationStatistics {
   static final String ENUM_DEFINED = "enumDefined";
   static final String ENUM_CREATED = "enumCreated";
   static final String SIZE = "size";
+  static final String LOOKUPS = "lookups";
+  static final String LOOKUP_TIME = "lookupTime";
 
   private final TypeRegistration typeRegistration;
   private final int typeDefinedId;
   private final int typeCreatedId;
   private final int enumDefinedId;
   private final int enumCreatedId;
+  private final int lookupsId;
+  private final int lookupTimeId;
   private final Statistics statistics;
 
   TypeRegistrationStatistics(final StatisticsFactory statisticsFactory,
@@ -50,13 +55,21 @@ class TypeRegistrationStatistics {
                 statisticsFactory.createLongCounter(ENUM_CREATED, "Number of PDX enums created.",
                     "ops"),
                 statisticsFactory.createLongGauge(SIZE, "Size of PDX type and enum registry.",
-                    "entries")
+                    "entries"),
+                statisticsFactory.createLongCounter(LOOKUPS,
+                    "Number of PDX types and enums looked up by id in the distributed registry.",
+                    "ops"),
+                statisticsFactory.createLongCounter(LOOKUP_TIME,
+                    "Total time spent looking up PDX types and enums by id in the distributed registry.",
+                    "nanoseconds")
             });
 
     typeDefinedId = statisticsType.nameToId(TYPE_DEFINED);
     typeCreatedId = statisticsType.nameToId(TYPE_CREATED);
     enumDefinedId = statisticsType.nameToId(ENUM_DEFINED);
     enumCreatedId = statisticsType.nameToId(ENUM_CREATED);
+    lookupsId = statisticsType.nameToId(LOOKUPS);
+    lookupTimeId = statisticsType.nameToId(LOOKUP_TIME);
 
     statistics = statisticsFactory.createAtomicStatistics(statisticsType,
         typeRegistration.getClass().getSimpleName());
@@ -82,4 +95,15 @@ class TypeRegistrationStatistics {
     statistics.incLong(enumCreatedId, 1);
   }
 
+  long startLookup() {
+    return DistributionStats.getStatTime();
+  }
+
+  void endLookup(long start) {
+    statistics.incLong(lookupsId, 1);
+    if (DistributionStats.enableClockStats) {
+      statistics.incLong(lookupTimeId, DistributionStats.getStatTime() - start);
+    }
+  }
+
 }
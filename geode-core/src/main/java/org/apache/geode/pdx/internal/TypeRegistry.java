@@ -18,6 +18,7 @@ import static java.lang.Integer.valueOf;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.logging.log4j.Logger;
@@ -44,9 +45,14 @@ public class TypeRegistry {
   private static final boolean DISABLE_TYPE_REGISTRY =
       Boolean.getBoolean(GeodeGlossary.GEMFIRE_PREFIX + "TypeRegistry.DISABLE_PDX_REGISTRY");
 
-  private final Map<Integer, PdxType> idToType = new CopyOnWriteHashMap<>();
+  /**
+   * The registered types and enums can grow to many thousands, for example when JSON documents
+   * with varying fields are stored, so these are concurrent maps rather than copy-on-write maps
+   * that would be copied on every registration.
+   */
+  private final Map<Integer, PdxType> idToType = new ConcurrentHashMap<>();
 
-  private final Map<PdxType, Integer> typeToId = new CopyOnWriteHashMap<>();
+  private final Map<PdxType, Integer> typeToId = new ConcurrentHashMap<>();
 
   private final Map<Class<?>, PdxType> localTypeIds = new CopyOnWriteWeakHashMap<>();
 
@@ -56,9 +62,9 @@ public class TypeRegistry {
   private final WeakConcurrentIdentityHashMap<Object, PdxUnreadData> unreadDataMap =
       WeakConcurrentIdentityHashMap.make();
 
-  private final Map<Integer, EnumInfo> idToEnum = new CopyOnWriteHashMap<>();
+  private final Map<Integer, EnumInfo> idToEnum = new ConcurrentHashMap<>();
 
-  private final Map<EnumInfo, Integer> enumInfoToId = new CopyOnWriteHashMap<>();
+  private final Map<EnumInfo, Integer> enumInfoToId = new ConcurrentHashMap<>();
 
   private final Map<Enum<?>, Integer> localEnumIds = new CopyOnWriteWeakHashMap<>();
 
@@ -18,11 +18,26 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerationException;
 import com.fasterxml.jackson.core.JsonGenerator;
 
+import org.apache.geode.annotations.Immutable;
+
 public class JsonHelper {
 
+  /**
+   * Factory shared by all JSON to PDX and PDX to JSON conversions. A factory is thread safe once
+   * configured and owns the buffer and symbol table recycling, so creating one per conversion only
+   * adds allocation. Parser and generator features are set on each parser or generator.
+   */
+  @Immutable
+  private static final JsonFactory jsonFactory = new JsonFactory();
+
+  public static JsonFactory getJsonFactory() {
+    return jsonFactory;
+  }
+
   public static void getJsonFromPrimitiveBoolArray(JsonGenerator jg, boolean[] array, String pf)
       throws JsonGenerationException, IOException {
     jg.writeStartArray();
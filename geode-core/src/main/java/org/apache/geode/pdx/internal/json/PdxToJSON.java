@@ -51,7 +51,7 @@ public class PdxToJSON {
   }
 
   public String getJSON() {
-    JsonFactory jf = new JsonFactory();
+    JsonFactory jf = JsonHelper.getJsonFactory();
     HeapDataOutputStream hdos = new HeapDataOutputStream(KnownVersion.CURRENT);
     try {
       JsonGenerator jg = jf.createJsonGenerator(hdos, JsonEncoding.UTF8);
@@ -67,7 +67,7 @@ public class PdxToJSON {
   }
 
   public byte[] getJSONByteArray() {
-    JsonFactory jf = new JsonFactory();
+    JsonFactory jf = JsonHelper.getJsonFactory();
     HeapDataOutputStream hdos = new HeapDataOutputStream(KnownVersion.CURRENT);
     try {
       JsonGenerator jg = jf.createJsonGenerator(hdos, JsonEncoding.UTF8);
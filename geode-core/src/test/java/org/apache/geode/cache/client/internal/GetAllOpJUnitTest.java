@@ -22,10 +22,13 @@ import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -33,6 +36,7 @@ import org.mockito.Mockito;
 
 import org.apache.geode.SerializationException;
 import org.apache.geode.cache.client.ServerOperationException;
+import org.apache.geode.cache.client.internal.GetAllOp.GetAllOpImpl;
 import org.apache.geode.distributed.internal.ServerLocation;
 import org.apache.geode.internal.cache.GemFireCacheImpl;
 import org.apache.geode.internal.cache.LocalRegion;
@@ -44,19 +48,19 @@ public class GetAllOpJUnitTest {
   private ExecutablePool pool = mock(PoolImpl.class);
   private GemFireCacheImpl cache = Fakes.cache();
   private LocalRegion region = mock(LocalRegion.class);
+  private ClientMetadataService cms = mock(ClientMetadataService.class);
+  private Map<ServerLocation, Set> serverToFilterMap = new HashMap<>();
   ArrayList<Integer> keys;
 
   @Before
   public void setup() {
     when(region.getCache()).thenReturn(cache);
-    ClientMetadataService cms = mock(ClientMetadataService.class);
     when(cache.getClientMetadataService()).thenReturn(cms);
 
     keys = new ArrayList<>();
     for (int i = 1; i <= 10; i++) {
       keys.add(i);
     }
-    Map<ServerLocation, Set> serverToFilterMap = new HashMap<>();
     when(cms.getServerToFilterMap(keys, region, true)).thenReturn(serverToFilterMap);
     ServerLocation serverLocation = new ServerLocation("localhost", 12345);
     serverToFilterMap.put(serverLocation, new HashSet(keys));
@@ -98,4 +102,48 @@ public class GetAllOpJUnitTest {
     Mockito.verify(pool, times(0)).execute(any());
   }
 
+  @Test
+  public void batchKeysSplitsKeysIntoBatchesOfAtMostBatchSize() {
+    List<List> batches = GetAllOp.batchKeys(keys, 4);
+
+    assertThat(batches).containsExactly(Arrays.asList(1, 2, 3, 4), Arrays.asList(5, 6, 7, 8),
+        Arrays.asList(9, 10));
+  }
+
+  @Test
+  public void batchKeysReturnsAllKeysInOneBatchWhenBatchingIsDisabled() {
+    assertThat(GetAllOp.batchKeys(keys, 0)).containsExactly(keys);
+    assertThat(GetAllOp.batchKeys(keys, 10)).containsExactly(keys);
+  }
+
+  @Test
+  public void submitGetAllSendsAtMostMaxConcurrentBatchesToAServer() throws Exception {
+    ServerLocation server = new ServerLocation("localhost", 12345);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    List<SingleHopOperationCallable> tasks = new ArrayList<>();
+    for (List batch : GetAllOp.batchKeys(keys, 1)) {
+      GetAllOpImpl getAllOp = mock(GetAllOpImpl.class);
+      when(getAllOp.getKeyList()).thenReturn(batch);
+      SingleHopOperationCallable task = mock(SingleHopOperationCallable.class);
+      when(task.getServer()).thenReturn(server);
+      when(task.getOperation()).thenReturn(getAllOp);
+      when(task.call()).thenAnswer(invocation -> {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        Thread.sleep(10);
+        running.decrementAndGet();
+        return new VersionedObjectList();
+      });
+      tasks.add(task);
+    }
+
+    Map<ServerLocation, Object> results =
+        SingleHopClientExecutor.submitGetAll(serverToFilterMap, tasks, cms, region, 2);
+
+    assertThat(maxRunning.get()).isBetween(1, 2);
+    assertThat(results).containsOnlyKeys(server);
+    for (SingleHopOperationCallable task : tasks) {
+      Mockito.verify(task, times(1)).call();
+    }
+  }
 }
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.MembershipTest;
+
+@Category({MembershipTest.class})
+public class CumulativeReplyMessageTest {
+
+  private final ReplyProcessor21 failingProcessor = mock(ReplyProcessor21.class);
+  private final ReplyProcessor21 processor = mock(ReplyProcessor21.class);
+  private final int failingProcessorId = ReplyProcessor21.keeper.put(failingProcessor);
+  private final int processorId = ReplyProcessor21.keeper.put(processor);
+
+  @After
+  public void tearDown() {
+    ReplyProcessor21.keeper.remove(failingProcessorId);
+    ReplyProcessor21.keeper.remove(processorId);
+  }
+
+  @Test
+  public void processAcknowledgesEveryProcessor() {
+    CumulativeReplyMessage message =
+        new CumulativeReplyMessage(new int[] {failingProcessorId, processorId});
+
+    message.process(mock(ClusterDistributionManager.class));
+
+    verify(failingProcessor).process(any(ReplyMessage.class));
+    verify(processor).process(any(ReplyMessage.class));
+  }
+
+  @Test
+  public void processContinuesAfterAProcessorFailsAndThenRethrows() {
+    RuntimeException failure = new IllegalStateException("failed");
+    doThrow(failure).when(failingProcessor).process(any(ReplyMessage.class));
+    CumulativeReplyMessage message =
+        new CumulativeReplyMessage(new int[] {failingProcessorId, processorId});
+
+    Throwable thrown =
+        catchThrowable(() -> message.process(mock(ClusterDistributionManager.class)));
+
+    assertThat(thrown).isSameAs(failure);
+    verify(failingProcessor).cancel(any(), same(failure));
+    verify(processor).process(any(ReplyMessage.class));
+    verify(processor, never()).cancel(any(), any());
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.ArgumentCaptor;
+
+import org.apache.geode.distributed.internal.membership.InternalDistributedMember;
+import org.apache.geode.test.junit.categories.MembershipTest;
+
+@Category({MembershipTest.class})
+public class ReplyCoalescerTest {
+
+  private final ReplySender replySender = mock(ReplySender.class);
+  private final DMStats stats = mock(DMStats.class);
+  private final ReplyCoalescer coalescer =
+      new ReplyCoalescer(replySender, stats, mock(ScheduledExecutorService.class));
+
+  @Test
+  public void flushSendsOneMessagePerMemberWithAllPendingProcessorIds() {
+    InternalDistributedMember member1 = mock(InternalDistributedMember.class);
+    InternalDistributedMember member2 = mock(InternalDistributedMember.class);
+    coalescer.add(member1, 1);
+    coalescer.add(member2, 2);
+    coalescer.add(member1, 3);
+
+    coalescer.flush();
+
+    ArgumentCaptor<CumulativeReplyMessage> captor =
+        ArgumentCaptor.forClass(CumulativeReplyMessage.class);
+    verify(replySender, times(2)).putOutgoing(captor.capture());
+    List<CumulativeReplyMessage> messages = captor.getAllValues();
+    for (CumulativeReplyMessage message : messages) {
+      if (message.getRecipients().get(0) == member1) {
+        assertThat(message.getProcessorIds()).containsExactly(1, 3);
+      } else {
+        assertThat(message.getProcessorIds()).containsExactly(2);
+      }
+    }
+    verify(stats).incCoalescedReplies(2);
+    verify(stats).incCoalescedReplies(1);
+  }
+
+  @Test
+  public void flushWithNothingPendingSendsNothing() {
+    coalescer.flush();
+
+    verify(replySender, never()).putOutgoing(any());
+  }
+
+  @Test
+  public void pendingRepliesAreSentWhenMaximumIsReached() {
+    InternalDistributedMember member = mock(InternalDistributedMember.class);
+    for (int i = 1; i <= ReplyCoalescer.MAX_PENDING_REPLIES; i++) {
+      coalescer.add(member, i);
+    }
+
+    verify(replySender).putOutgoing(any(CumulativeReplyMessage.class));
+
+    coalescer.flush();
+    verify(replySender).putOutgoing(any());
+  }
+}
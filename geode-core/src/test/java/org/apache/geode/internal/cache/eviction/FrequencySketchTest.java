@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class FrequencySketchTest {
+
+  private final FrequencySketch sketch = new FrequencySketch();
+
+  @Test
+  public void unseenHashCodeHasNoFrequency() {
+    assertThat(sketch.frequency(42)).isZero();
+  }
+
+  @Test
+  public void incrementIncreasesFrequency() {
+    sketch.increment(42);
+    sketch.increment(42);
+
+    assertThat(sketch.frequency(42)).isEqualTo(2);
+  }
+
+  @Test
+  public void frequencyIsCappedAtMaximum() {
+    for (int i = 0; i < 100; i++) {
+      sketch.increment(42);
+    }
+
+    assertThat(sketch.frequency(42)).isEqualTo(FrequencySketch.MAXIMUM_FREQUENCY);
+  }
+
+  @Test
+  public void frequenciesAreHalvedWhenSampleSizeIsReached() {
+    for (int i = 0; i < 8; i++) {
+      sketch.increment(42);
+    }
+    int hashCode = 1000;
+    while (sketch.frequency(42) == 8) {
+      sketch.increment(hashCode++);
+    }
+
+    assertThat(sketch.frequency(42)).isEqualTo(4);
+    assertThat(hashCode - 1000).isLessThan(sketch.getSampleSize());
+  }
+
+  @Test
+  public void ensureCapacityGrowsTheTable() {
+    int sampleSize = sketch.getSampleSize();
+
+    sketch.ensureCapacity(1000);
+
+    assertThat(sketch.getSampleSize()).isGreaterThan(sampleSize);
+  }
+}
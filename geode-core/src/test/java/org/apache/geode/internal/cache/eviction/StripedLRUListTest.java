@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.geode.internal.cache.BucketRegion;
+
+public class StripedLRUListTest {
+
+  private EvictionCounters stats;
+  private EvictionController controller;
+  private StripedLRUList list;
+
+  @Before
+  public void setup() {
+    stats = mock(EvictionCounters.class);
+    controller = mock(EvictionController.class);
+    when(controller.getCounters()).thenReturn(stats);
+    list = new StripedLRUList(controller, 4);
+  }
+
+  @Test
+  public void evictingFromEmptyListReturnsNull() {
+    assertThat(list.getEvictableEntry()).isNull();
+    assertThat(list.size()).isZero();
+  }
+
+  @Test
+  public void sizeCountsEntriesInAllStripes() {
+    for (int i = 0; i < 10; i++) {
+      list.appendEntry(createNode());
+    }
+
+    assertThat(list.size()).isEqualTo(10);
+  }
+
+  @Test
+  public void evictsEveryEntryAcrossStripes() {
+    Set<EvictionNode> nodes = new HashSet<>();
+    for (int i = 0; i < 10; i++) {
+      EvictionNode node = createNode();
+      nodes.add(node);
+      list.appendEntry(node);
+    }
+
+    Set<EvictableEntry> evicted = new HashSet<>();
+    EvictableEntry entry;
+    while ((entry = list.getEvictableEntry()) != null) {
+      evicted.add(entry);
+    }
+
+    assertThat(evicted).isEqualTo(nodes);
+    assertThat(list.size()).isZero();
+  }
+
+  @Test
+  public void destroyEntryRemovesEntryFromItsStripe() {
+    EvictionNode node = createNode();
+    list.appendEntry(node);
+
+    list.destroyEntry(node);
+
+    assertThat(list.size()).isZero();
+    assertThat(list.getStripe(node).size()).isZero();
+    verify(stats).incDestroys();
+  }
+
+  @Test
+  public void clearEmptiesAllStripesAndResetsCounterOnce() {
+    for (int i = 0; i < 10; i++) {
+      list.appendEntry(createNode());
+    }
+    BucketRegion bucketRegion = mock(BucketRegion.class);
+    when(bucketRegion.getCounter()).thenReturn(10L);
+
+    list.clear(null, bucketRegion);
+
+    assertThat(list.size()).isZero();
+    assertThat(list.getEvictableEntry()).isNull();
+    verify(stats).decrementCounter(10L);
+    verify(bucketRegion).resetCounter();
+  }
+
+  private static EvictableEntry createNode() {
+    return mock(EvictableEntry.class, delegatesTo(new LinkableEvictionNode()));
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.geode.internal.cache.RegionEntryContext;
+
+public class TinyLFUListTest {
+
+  private EvictionCounters stats;
+  private TinyLFUList list;
+  private int keys;
+
+  @Before
+  public void setup() {
+    stats = mock(EvictionCounters.class);
+    EvictionController controller = mock(EvictionController.class);
+    when(controller.getCounters()).thenReturn(stats);
+    list = new TinyLFUList(controller);
+  }
+
+  @Test
+  public void evictingFromEmptyListReturnsNull() {
+    assertThat(list.getEvictableEntry()).isNull();
+    assertThat(list.size()).isZero();
+  }
+
+  @Test
+  public void windowOverflowsIntoMainRing() {
+    list.appendEntry(createNode());
+    list.appendEntry(createNode());
+
+    assertThat(list.size()).isEqualTo(2);
+    assertThat(list.getWindowSize()).isOne();
+  }
+
+  @Test
+  public void newEntryIsEvictedUnlessUsedMoreOftenThanTheOldestEntry() {
+    EvictableEntry first = createNode();
+    EvictableEntry second = createNode();
+    EvictableEntry third = createNode();
+    list.appendEntry(first);
+    list.appendEntry(second);
+    list.appendEntry(third);
+
+    assertThat(list.getEvictableEntry()).isSameAs(third);
+    assertThat(list.getEvictableEntry()).isSameAs(first);
+    assertThat(list.getEvictableEntry()).isSameAs(second);
+    assertThat(list.getEvictableEntry()).isNull();
+  }
+
+  @Test
+  public void frequentlyUsedNewEntryIsAdmitted() {
+    EvictableEntry first = createNode();
+    EvictableEntry second = createNode();
+    EvictableEntry frequent = createNode();
+    list.appendEntry(first);
+    list.appendEntry(second);
+    list.appendEntry(frequent);
+    incrementFrequency(frequent, 5);
+
+    assertThat(list.getEvictableEntry()).isSameAs(first);
+    assertThat(list.getEvictableEntry()).isSameAs(second);
+    assertThat(list.getEvictableEntry()).isSameAs(frequent);
+  }
+
+  @Test
+  public void frequentlyUsedEntryIsNotEvictedByNewerEntries() {
+    EvictableEntry frequent = createNode();
+    list.appendEntry(frequent);
+    incrementFrequency(frequent, 5);
+    list.appendEntry(createNode());
+    EvictableEntry scanned = createNode();
+    list.appendEntry(scanned);
+
+    assertThat(list.getEvictableEntry()).isSameAs(scanned);
+
+    EvictableEntry scannedLater = createNode();
+    list.appendEntry(scannedLater);
+
+    assertThat(list.getEvictableEntry()).isSameAs(scannedLater);
+    assertThat(list.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void recentlyUsedEntryIsGivenAnotherChance() {
+    EvictableEntry recentlyUsed = createNode();
+    EvictableEntry other = createNode();
+    EvictableEntry frequent = createNode();
+    list.appendEntry(recentlyUsed);
+    list.appendEntry(other);
+    list.appendEntry(frequent);
+    incrementFrequency(frequent, 5);
+    recentlyUsed.setRecentlyUsed(null);
+
+    assertThat(list.getEvictableEntry()).isSameAs(other);
+    verify(recentlyUsed).unsetRecentlyUsed();
+    assertThat(list.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void destroyEntryRemovesEntryFromWindow() {
+    EvictableEntry node = createNode();
+    list.appendEntry(node);
+
+    list.destroyEntry(node);
+
+    assertThat(list.size()).isZero();
+    assertThat(node.next()).isNull();
+    verify(stats).incDestroys();
+  }
+
+  @Test
+  public void clearEmptiesWindowAndMainRing() {
+    for (int i = 0; i < 3; i++) {
+      list.appendEntry(createNode());
+    }
+    list.getEvictableEntry();
+
+    list.clear(null, null);
+
+    assertThat(list.size()).isZero();
+    assertThat(list.getEvictableEntry()).isNull();
+  }
+
+  private void incrementFrequency(EvictableEntry node, int times) {
+    for (int i = 0; i < times; i++) {
+      list.getFrequencySketch().increment(node.getKey().hashCode());
+    }
+  }
+
+  private EvictableEntry createNode() {
+    return mock(EvictableEntry.class, delegatesTo(new RecentlyUsedNode(++keys)));
+  }
+
+  public static class RecentlyUsedNode extends LinkableEvictionNode {
+    private final Object key;
+    private boolean recentlyUsed;
+
+    RecentlyUsedNode(Object key) {
+      this.key = key;
+    }
+
+    public Object getKey() {
+      return key;
+    }
+
+    @Override
+    public boolean isRecentlyUsed() {
+      return recentlyUsed;
+    }
+
+    @Override
+    public void setRecentlyUsed(RegionEntryContext context) {
+      recentlyUsed = true;
+    }
+
+    @Override
+    public void unsetRecentlyUsed() {
+      recentlyUsed = false;
+    }
+  }
+}
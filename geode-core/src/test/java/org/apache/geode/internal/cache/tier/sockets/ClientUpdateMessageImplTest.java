@@ -22,6 +22,7 @@ import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.withSettings;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 
 import org.junit.Test;
 
@@ -29,7 +30,9 @@ import org.apache.geode.CopyHelper;
 import org.apache.geode.distributed.DistributedMember;
 import org.apache.geode.distributed.DurableClientAttributes;
 import org.apache.geode.internal.cache.EnumListenerEvent;
+import org.apache.geode.internal.cache.EventID;
 import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.serialization.KnownVersion;
 import org.apache.geode.internal.statistics.StatisticsClock;
 import org.apache.geode.test.fake.Fakes;
 
@@ -103,6 +106,52 @@ public class ClientUpdateMessageImplTest implements Serializable {
         .isTrue();
   }
 
+  @Test
+  public void sharedPartsMatchPartsAddedByMessage() {
+    EventID eventId = new EventID(new byte[] {1, 2, 3}, 4, 5);
+    Integer key = 42;
+    String callbackArgument = "callback";
+
+    Message expected = new Message(3, KnownVersion.CURRENT);
+    expected.setVersion(KnownVersion.CURRENT);
+    expected.addStringOrObjPart(key);
+    expected.addObjPart(callbackArgument);
+    expected.addObjPart(eventId);
+
+    ClientUpdateMessageImpl.SharedParts sharedParts =
+        new ClientUpdateMessageImpl.SharedParts(key, callbackArgument, null, eventId,
+            KnownVersion.CURRENT);
+    Message actual = new Message(3, KnownVersion.CURRENT);
+    actual.setVersion(KnownVersion.CURRENT);
+    sharedParts.addKeyPart(actual);
+    sharedParts.addCallbackArgumentPart(actual);
+    sharedParts.addEventIdPart(actual);
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(actual.getPart(i).getTypeCode()).isEqualTo(expected.getPart(i).getTypeCode());
+      assertThat(bytesOf(actual.getPart(i))).isEqualTo(bytesOf(expected.getPart(i)));
+    }
+  }
+
+  @Test
+  public void sharedPartsMatchStringKeyAddedByMessage() {
+    Message expected = new Message(1, KnownVersion.CURRENT);
+    expected.addStringOrObjPart("key");
+
+    Message actual = new Message(1, KnownVersion.CURRENT);
+    new ClientUpdateMessageImpl.SharedParts("key", null, null, null, KnownVersion.CURRENT)
+        .addKeyPart(actual);
+
+    assertThat(actual.getPart(0).getTypeCode()).isEqualTo(expected.getPart(0).getTypeCode());
+    assertThat(bytesOf(actual.getPart(0))).isEqualTo(bytesOf(expected.getPart(0)));
+  }
+
+  private byte[] bytesOf(Part part) {
+    ByteBuffer buffer = ByteBuffer.allocate(part.getLength());
+    part.writeTo(buffer);
+    return buffer.array();
+  }
+
   private ClientUpdateMessageImpl getTestClientUpdateMessage() {
     LocalRegion localRegion = mock(LocalRegion.class);
     String regionName = "regionName";
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.compression.SnappyCompressor;
+import org.apache.geode.internal.cache.tier.CommunicationMode;
+import org.apache.geode.test.junit.categories.ClientServerTest;
+
+@Category({ClientServerTest.class})
+public class MessageCompressionTest {
+
+  private final MessageCompression compression =
+      new MessageCompression(true, 100, new SnappyCompressor());
+
+  private final MessageStats stats = mock(MessageStats.class);
+
+  @Test
+  public void partSmallerThanThresholdIsNotCompressed() {
+    Part part = new Part();
+    part.setPartState(new byte[99], false);
+
+    assertThat(part.compress(compression, stats)).isNull();
+  }
+
+  @Test
+  public void compressedPartHasFlaggedTypeAndDecompressesToOriginalBytes() {
+    byte[] bytes = new byte[1000];
+    Arrays.fill(bytes, (byte) 7);
+    Part part = new Part();
+    part.setPartState(bytes, true);
+
+    Part compressed = part.compress(compression, stats);
+
+    assertThat(compressed).isNotNull();
+    assertThat(compressed.getTypeCode() & Part.COMPRESSED_FLAG).isNotZero();
+    assertThat(compressed.getLength()).isLessThan(bytes.length);
+    assertThat(compression.decompress(compressed.getSerializedForm(), stats)).isEqualTo(bytes);
+    assertThat(part.getSerializedForm()).isSameAs(bytes);
+    verify(stats).incCompressedParts(eq(1000L), eq((long) compressed.getLength()), anyLong());
+  }
+
+  @Test
+  public void partThatDoesNotShrinkIsNotCompressed() {
+    byte[] bytes = new byte[1000];
+    new Random(1).nextBytes(bytes);
+    Part part = new Part();
+    part.setPartState(bytes, false);
+
+    assertThat(part.compress(compression, stats)).isNull();
+  }
+
+  @Test
+  public void gatewayCompressionOnlyAppliesToGatewayConnections() {
+    MessageCompression gatewayCompression =
+        new MessageCompression(false, true, 100, new SnappyCompressor());
+
+    assertThat(gatewayCompression.isEnabled(CommunicationMode.GatewayToGateway)).isTrue();
+    assertThat(gatewayCompression.isEnabled(CommunicationMode.ClientToServer)).isFalse();
+    assertThat(compression.isEnabled(CommunicationMode.ClientToServer)).isTrue();
+  }
+}
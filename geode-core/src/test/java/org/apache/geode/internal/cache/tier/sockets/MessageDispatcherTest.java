@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.ClientSubscriptionTest;
+
+@Category({ClientSubscriptionTest.class})
+public class MessageDispatcherTest {
+
+  private final ClientProxyMembershipID clientId = mock(ClientProxyMembershipID.class);
+
+  @Test
+  public void conflateBatchRemovesEarlierUpdatesOfTheSameKey() {
+    ClientUpdateMessageImpl first = update("region", "key");
+    ClientUpdateMessageImpl other = update("region", "otherKey");
+    ClientUpdateMessageImpl second = update("region", "key");
+    List<ClientMessage> batch = new ArrayList<>(Arrays.asList(first, other, second));
+
+    assertThat(MessageDispatcher.conflateBatch(batch, clientId)).isEqualTo(1);
+    assertThat(batch).containsExactly(other, second);
+  }
+
+  @Test
+  public void conflateBatchKeepsUpdatesOfSameKeyInDifferentRegions() {
+    ClientUpdateMessageImpl first = update("region", "key");
+    ClientUpdateMessageImpl second = update("otherRegion", "key");
+    List<ClientMessage> batch = new ArrayList<>(Arrays.asList(first, second));
+
+    assertThat(MessageDispatcher.conflateBatch(batch, clientId)).isZero();
+    assertThat(batch).containsExactly(first, second);
+  }
+
+  @Test
+  public void conflateBatchKeepsUpdateFollowedByDelta() {
+    ClientUpdateMessageImpl first = update("region", "key");
+    ClientUpdateMessageImpl delta = update("region", "key");
+    when(delta.hasDeltaBytes()).thenReturn(true);
+    List<ClientMessage> batch = new ArrayList<>(Arrays.asList(first, delta));
+
+    assertThat(MessageDispatcher.conflateBatch(batch, clientId)).isZero();
+    assertThat(batch).containsExactly(first, delta);
+  }
+
+  @Test
+  public void conflateBatchKeepsUpdateFollowedByDestroy() {
+    ClientUpdateMessageImpl first = update("region", "key");
+    ClientUpdateMessageImpl destroy = mock(ClientUpdateMessageImpl.class);
+    when(destroy.isDestroy()).thenReturn(true);
+    when(destroy.getRegionName()).thenReturn("region");
+    when(destroy.getKeyOfInterest()).thenReturn("key");
+    List<ClientMessage> batch = new ArrayList<>(Arrays.asList(first, destroy));
+
+    assertThat(MessageDispatcher.conflateBatch(batch, clientId)).isZero();
+    assertThat(batch).containsExactly(first, destroy);
+  }
+
+  @Test
+  public void conflateBatchKeepsMessagesWithCqs() {
+    ClientUpdateMessageImpl first = update("region", "key");
+    when(first.hasCqs(clientId)).thenReturn(true);
+    ClientUpdateMessageImpl second = update("region", "key");
+    List<ClientMessage> batch = new ArrayList<>(Arrays.asList(first, second));
+
+    assertThat(MessageDispatcher.conflateBatch(batch, clientId)).isZero();
+    assertThat(batch).containsExactly(first, second);
+  }
+
+  private ClientUpdateMessageImpl update(String regionName, Object key) {
+    ClientUpdateMessageImpl message = mock(ClientUpdateMessageImpl.class);
+    when(message.isUpdate()).thenReturn(true);
+    when(message.getRegionName()).thenReturn(regionName);
+    when(message.getKeyOfInterest()).thenReturn(key);
+    return message;
+  }
+}
@@ -16,25 +16,33 @@ package org.apache.geode.internal.cache.tier.sockets;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
 import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import org.apache.geode.internal.offheap.StoredObject;
 import org.apache.geode.internal.serialization.KnownVersion;
 import org.apache.geode.test.junit.categories.ClientServerTest;
 
@@ -107,6 +115,112 @@ public class MessageJUnitTest {
     }
   }
 
+  @Test
+  public void coalescedMessagesAreWrittenWithASingleFlush() throws Exception {
+    Socket mockSocket = mock(Socket.class);
+    OutputStream outputStream = mock(OutputStream.class);
+    ByteBuffer commBuffer = ByteBuffer.allocate(1000);
+    MessageStats mockStats = mock(MessageStats.class);
+
+    Message first = new Message(1, KnownVersion.CURRENT);
+    first.setComms(mockSocket, null, outputStream, commBuffer, mockStats);
+    first.addIntPart(1);
+    first.sendCoalesced();
+
+    Message second = new Message(1, KnownVersion.CURRENT);
+    second.setComms(mockSocket, null, outputStream, commBuffer, mockStats);
+    second.addIntPart(2);
+    second.sendCoalesced();
+
+    verify(outputStream, never()).write(any(byte[].class), anyInt(), anyInt());
+
+    second.flush();
+
+    // header (17 bytes) plus one int part with its 5 byte part header, for each message
+    verify(outputStream, times(1)).write(any(byte[].class), eq(0), eq(2 * (17 + 5 + 4)));
+    verify(outputStream, times(1)).flush();
+    assertEquals(0, commBuffer.position());
+  }
+
+  @Test
+  public void largeOffHeapPartIsWrittenWithGatheringWriteWithoutCopying() throws Exception {
+    Socket mockSocket = mock(Socket.class);
+    SocketChannel channel = mock(SocketChannel.class);
+    when(mockSocket.getChannel()).thenReturn(channel);
+    ByteBuffer written = ByteBuffer.allocate(2000);
+    when(channel.write(any(ByteBuffer[].class), anyInt(), anyInt())).thenAnswer(invocation -> {
+      ByteBuffer[] buffers = invocation.getArgument(0);
+      long count = 0;
+      for (ByteBuffer buffer : buffers) {
+        count += buffer.remaining();
+        written.put(buffer);
+      }
+      return count;
+    });
+    ByteBuffer commBuffer = ByteBuffer.allocate(100);
+    MessageStats mockStats = mock(MessageStats.class);
+
+    byte[] value = createValue(1000);
+    ByteBuffer offHeapValue = ByteBuffer.allocateDirect(value.length);
+    offHeapValue.put(value).flip();
+    StoredObject storedObject = mock(StoredObject.class);
+    when(storedObject.getDataSize()).thenReturn(value.length);
+    when(storedObject.createDirectByteBuffer()).thenReturn(offHeapValue);
+    Message message = new Message(1, KnownVersion.CURRENT);
+    message.setComms(mockSocket, null, null, commBuffer, mockStats);
+    message.addPartInAnyForm(storedObject, true);
+    message.send();
+
+    verify(channel, times(1)).write(any(ByteBuffer[].class), anyInt(), anyInt());
+    verify(channel, never()).write(any(ByteBuffer.class));
+    assertEquals(17 + 5 + value.length, written.position());
+    written.flip();
+    written.position(17 + 5);
+    byte[] payload = new byte[value.length];
+    written.get(payload);
+    assertEquals(ByteBuffer.wrap(value), ByteBuffer.wrap(payload));
+    verify(mockStats, times(1)).incSentBytes(17 + 5 + value.length);
+  }
+
+  @Test
+  public void largeBytePartIsCopiedThroughCommBuffer() throws Exception {
+    Socket mockSocket = mock(Socket.class);
+    SocketChannel channel = mock(SocketChannel.class);
+    when(mockSocket.getChannel()).thenReturn(channel);
+    ByteBuffer written = ByteBuffer.allocate(2000);
+    ByteBuffer commBuffer = ByteBuffer.allocate(100);
+    when(channel.write(any(ByteBuffer.class))).thenAnswer(invocation -> {
+      ByteBuffer buffer = invocation.getArgument(0);
+      assertSame(commBuffer, buffer);
+      int count = buffer.remaining();
+      written.put(buffer);
+      return count;
+    });
+    MessageStats mockStats = mock(MessageStats.class);
+
+    byte[] value = createValue(1000);
+    Message message = new Message(1, KnownVersion.CURRENT);
+    message.setComms(mockSocket, null, null, commBuffer, mockStats);
+    message.addRawPart(value, true);
+    message.send();
+
+    verify(channel, never()).write(any(ByteBuffer[].class), anyInt(), anyInt());
+    assertEquals(17 + 5 + value.length, written.position());
+    written.flip();
+    written.position(17 + 5);
+    byte[] payload = new byte[value.length];
+    written.get(payload);
+    assertEquals(ByteBuffer.wrap(value), ByteBuffer.wrap(payload));
+  }
+
+  private static byte[] createValue(int length) {
+    byte[] value = new byte[length];
+    for (int i = 0; i < value.length; i++) {
+      value[i] = (byte) i;
+    }
+    return value;
+  }
+
   /**
    * geode-1468: Message should clear the chunks in its Parts when performing cleanup.
    */
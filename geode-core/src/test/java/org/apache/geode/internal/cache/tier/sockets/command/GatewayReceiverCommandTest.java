@@ -0,0 +1,320 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets.command;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.geode.test.awaitility.GeodeAwaitility.getTimeout;
+import static org.apache.geode.util.internal.UncheckedUtils.uncheckedCast;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import org.apache.geode.cache.CacheClosedException;
+import org.apache.geode.cache.CacheWriterException;
+import org.apache.geode.distributed.internal.DistributionManager;
+import org.apache.geode.distributed.internal.InternalDistributedSystem;
+import org.apache.geode.internal.cache.EntryEventImpl;
+import org.apache.geode.internal.cache.EventID;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.tier.CachedRegionHelper;
+import org.apache.geode.internal.cache.tier.sockets.Message;
+import org.apache.geode.internal.cache.tier.sockets.Part;
+import org.apache.geode.internal.cache.tier.sockets.ServerConnection;
+import org.apache.geode.internal.cache.wan.BatchException70;
+import org.apache.geode.internal.cache.wan.GatewayReceiverStats;
+import org.apache.geode.internal.security.SecurityService;
+import org.apache.geode.internal.serialization.KnownVersion;
+import org.apache.geode.internal.util.BlobHelper;
+import org.apache.geode.pdx.PdxRegistryMismatchException;
+import org.apache.geode.pdx.internal.PdxType;
+import org.apache.geode.pdx.internal.PeerTypeRegistration;
+import org.apache.geode.pdx.internal.TypeRegistry;
+import org.apache.geode.test.junit.categories.WanTest;
+import org.apache.geode.test.junit.rules.ExecutorServiceRule;
+
+@Category({WanTest.class})
+public class GatewayReceiverCommandTest {
+
+  private static final String REGION_NAME = "region1";
+  private static final int BATCH_ID = 1;
+  private static final int TYPE_ID = 7;
+  private static final byte[] MEMBER_ID = new byte[] {1};
+
+  private final Message message = mock(Message.class);
+  private final ServerConnection serverConnection = mock(ServerConnection.class);
+  private final InternalCache cache = mock(InternalCache.class);
+  private final LocalRegion region = mock(LocalRegion.class);
+  private final TypeRegistry typeRegistry = mock(TypeRegistry.class);
+  private final Message responseMessage = mock(Message.class);
+  private final Message errorResponseMessage = mock(Message.class);
+  private final Part numberOfEventsPart = mock(Part.class);
+  private final List<Part> parts = new ArrayList<>();
+  private final Map<Object, Callable<Void>> beforeDestroy = new ConcurrentHashMap<>();
+  private final Map<Object, List<Long>> destroyedSequenceIds = new ConcurrentHashMap<>();
+  private int numberOfEvents;
+  private long sequenceId;
+
+  @Rule
+  public ExecutorServiceRule executorServiceRule = new ExecutorServiceRule();
+
+  @Before
+  public void setUp() throws Exception {
+    CachedRegionHelper crHelper = mock(CachedRegionHelper.class);
+    InternalDistributedSystem system = mock(InternalDistributedSystem.class);
+    when(system.getDistributionManager()).thenReturn(mock(DistributionManager.class));
+    when(cache.getDistributedSystem()).thenReturn(system);
+    when(cache.getRegion(isA(String.class))).thenReturn(uncheckedCast(region));
+    when(cache.getPdxRegistry()).thenReturn(typeRegistry);
+    when(crHelper.getCacheForGatewayCommand()).thenReturn(cache);
+
+    when(serverConnection.getCachedRegionHelper()).thenReturn(crHelper);
+    when(serverConnection.getCacheServerStats()).thenReturn(mock(GatewayReceiverStats.class));
+    when(serverConnection.getClientVersion()).thenReturn(KnownVersion.CURRENT);
+    when(serverConnection.getResponseMessage()).thenReturn(responseMessage);
+    when(serverConnection.getErrorResponseMessage()).thenReturn(errorResponseMessage);
+
+    doAnswer(invocation -> {
+      Object key = invocation.getArgument(0);
+      Callable<Void> action = beforeDestroy.get(key);
+      if (action != null) {
+        action.call();
+      }
+      EntryEventImpl clientEvent = invocation.getArgument(4);
+      destroyedSequenceIds.computeIfAbsent(key, k -> new ArrayList<>())
+          .add(clientEvent.getEventId().getSequenceID());
+      return null;
+    }).when(region).basicBridgeDestroy(any(), any(), any(), anyBoolean(), any());
+
+    when(message.getPart(anyInt())).thenAnswer(invocation -> parts.get(invocation.getArgument(0)));
+    parts.add(numberOfEventsPart);
+    parts.add(intPart(BATCH_ID));
+    // the distributed system id
+    parts.add(intPart(1));
+    // remove events on exception, so failures are reported rather than retried
+    parts.add(flagPart(true));
+  }
+
+  @Test
+  public void eventsOnTheSameKeyAreAppliedInOrder() throws Exception {
+    addDestroyEvent(1);
+    addDestroyEvent(2);
+    addDestroyEvent(1);
+    addDestroyEvent(2);
+    addDestroyEvent(1);
+
+    execute(2);
+
+    assertThat(destroyedSequenceIds.get(1)).containsExactly(1L, 3L, 5L);
+    assertThat(destroyedSequenceIds.get(2)).containsExactly(2L, 4L);
+    verify(responseMessage).send(serverConnection);
+  }
+
+  @Test
+  public void pdxTypesAreAppliedBeforeTheOtherEvents() throws Exception {
+    addPdxTypeEvent();
+    addDestroyEvent(1);
+    addDestroyEvent(2);
+
+    execute(2);
+
+    InOrder inOrder = inOrder(typeRegistry, region);
+    inOrder.verify(typeRegistry).addRemoteType(eq(TYPE_ID), any());
+    inOrder.verify(region, times(2)).basicBridgeDestroy(any(), any(), any(), anyBoolean(), any());
+    verify(responseMessage).send(serverConnection);
+  }
+
+  @Test
+  public void batchExceptionIndexesDoNotCountPdxEvents() throws Exception {
+    beforeDestroy.put(2, () -> {
+      throw new IllegalStateException("failed");
+    });
+    beforeDestroy.put(4, () -> {
+      throw new IllegalStateException("failed");
+    });
+    addPdxTypeEvent();
+    addDestroyEvent(1);
+    addDestroyEvent(2);
+    addDestroyEvent(3);
+    addDestroyEvent(4);
+
+    execute(2);
+
+    ArgumentCaptor<Object> exceptions = ArgumentCaptor.forClass(Object.class);
+    verify(errorResponseMessage).addObjPart(exceptions.capture());
+    List<BatchException70> batchExceptions = uncheckedCast(exceptions.getValue());
+    assertThat(batchExceptions).extracting(BatchException70::getIndex).containsExactly(1, 3);
+    assertThat(destroyedSequenceIds).containsOnlyKeys(1, 3);
+    verify(responseMessage, never()).send(serverConnection);
+  }
+
+  @Test
+  public void pdxRegistryMismatchStopsTheBatch() throws Exception {
+    PdxRegistryMismatchException mismatch = new PdxRegistryMismatchException("mismatch");
+    doThrow(new CacheWriterException(mismatch)).when(typeRegistry).addRemoteType(eq(TYPE_ID),
+        any());
+    addPdxTypeEvent();
+    addDestroyEvent(1);
+    addDestroyEvent(2);
+
+    execute(2);
+
+    verify(errorResponseMessage).addObjPart(mismatch);
+    verify(region, never()).basicBridgeDestroy(any(), any(), any(), anyBoolean(), any());
+    verify(responseMessage, never()).send(serverConnection);
+  }
+
+  @Test
+  public void pdxRegistryMismatchInAGroupStopsTheRestOfTheGroup() throws Exception {
+    PdxRegistryMismatchException mismatch = new PdxRegistryMismatchException("mismatch");
+    beforeDestroy.put(1, () -> {
+      throw new CacheWriterException(mismatch);
+    });
+    addDestroyEvent(1);
+    addDestroyEvent(1);
+
+    execute(2);
+
+    verify(errorResponseMessage).addObjPart(mismatch);
+    verify(region).basicBridgeDestroy(eq(1), any(), any(), anyBoolean(), any());
+    verify(responseMessage, never()).send(serverConnection);
+  }
+
+  @Test
+  public void cancelExceptionInAGroupWaitsForTheOtherGroupsAndStopsProcessing()
+      throws Exception {
+    CountDownLatch otherGroupApplying = new CountDownLatch(1);
+    CountDownLatch cancelled = new CountDownLatch(1);
+    CacheClosedException cacheClosed = new CacheClosedException("closed");
+    beforeDestroy.put(1, () -> {
+      otherGroupApplying.await(getTimeout().toMillis(), MILLISECONDS);
+      cancelled.countDown();
+      throw cacheClosed;
+    });
+    beforeDestroy.put(2, () -> {
+      otherGroupApplying.countDown();
+      cancelled.await(getTimeout().toMillis(), MILLISECONDS);
+      return null;
+    });
+    addDestroyEvent(1);
+    addDestroyEvent(2);
+
+    execute(2);
+
+    assertThat(destroyedSequenceIds).containsOnlyKeys(2);
+    verify(serverConnection).setFlagProcessMessagesAsFalse();
+    verify(serverConnection).setClientDisconnectedException(cacheClosed);
+    verify(responseMessage, never()).send(serverConnection);
+    verify(errorResponseMessage, never()).send(serverConnection);
+  }
+
+  private void execute(int parallelApplyThreads) throws Exception {
+    when(numberOfEventsPart.getInt()).thenReturn(numberOfEvents);
+    GatewayReceiverCommand command = new GatewayReceiverCommand(parallelApplyThreads,
+        executorServiceRule.getExecutorService());
+
+    command.cmdExecute(message, serverConnection, mock(SecurityService.class), 0);
+  }
+
+  private void addDestroyEvent(Object key) throws Exception {
+    numberOfEvents++;
+    parts.add(intPart(2));
+    // possible duplicate
+    parts.add(flagPart(false));
+    parts.add(regionNamePart(REGION_NAME));
+    parts.add(eventIdPart());
+    parts.add(keyPart(key));
+    // callback argument exists
+    parts.add(flagPart(false));
+    // version timestamp
+    parts.add(mock(Part.class));
+  }
+
+  private void addPdxTypeEvent() throws Exception {
+    numberOfEvents++;
+    parts.add(intPart(0));
+    // possible duplicate
+    parts.add(flagPart(false));
+    parts.add(regionNamePart(PeerTypeRegistration.REGION_FULL_PATH));
+    parts.add(eventIdPart());
+    parts.add(keyPart(TYPE_ID));
+    Part valuePart = mock(Part.class);
+    when(valuePart.getSerializedForm())
+        .thenReturn(BlobHelper.serializeToBlob(new PdxType("Type", true)));
+    when(valuePart.isObject()).thenReturn(true);
+    parts.add(valuePart);
+    // callback argument exists
+    parts.add(flagPart(false));
+    // version timestamp
+    parts.add(mock(Part.class));
+  }
+
+  private static Part intPart(int value) {
+    Part part = mock(Part.class);
+    when(part.getInt()).thenReturn(value);
+    return part;
+  }
+
+  private static Part flagPart(boolean value) throws Exception {
+    byte[] bytes = new byte[] {(byte) (value ? 1 : 0)};
+    Part part = mock(Part.class);
+    when(part.getObject()).thenReturn(bytes);
+    when(part.getSerializedForm()).thenReturn(bytes);
+    return part;
+  }
+
+  private static Part regionNamePart(String regionName) {
+    Part part = mock(Part.class);
+    when(part.getCachedString()).thenReturn(regionName);
+    return part;
+  }
+
+  private Part eventIdPart() throws Exception {
+    Part part = mock(Part.class);
+    when(part.getObject()).thenReturn(new EventID(MEMBER_ID, 1, ++sequenceId));
+    return part;
+  }
+
+  private static Part keyPart(Object key) throws Exception {
+    Part part = mock(Part.class);
+    when(part.getStringOrObject()).thenReturn(key);
+    return part;
+  }
+}
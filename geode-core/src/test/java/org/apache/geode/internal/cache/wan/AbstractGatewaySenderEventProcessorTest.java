@@ -14,21 +14,48 @@
  */
 package org.apache.geode.internal.cache.wan;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.geode.test.awaitility.GeodeAwaitility.await;
+import static org.apache.geode.test.awaitility.GeodeAwaitility.getTimeout;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.contrib.java.lang.system.RestoreSystemProperties;
+import org.mockito.ArgumentCaptor;
 
+import org.apache.geode.CancelCriterion;
 import org.apache.geode.internal.cache.RegionQueue;
+import org.apache.geode.internal.cache.wan.serial.SerialGatewaySenderQueue;
+import org.apache.geode.internal.cache.wan.serial.TestSerialGatewaySenderEventProcessor;
+import org.apache.geode.test.junit.rules.ExecutorServiceRule;
 
 public class AbstractGatewaySenderEventProcessorTest {
 
   private RegionQueue queue = mock(RegionQueue.class);
 
+  @Rule
+  public ExecutorServiceRule executorServiceRule = new ExecutorServiceRule();
+
+  @Rule
+  public RestoreSystemProperties restoreSystemProperties = new RestoreSystemProperties();
+
   @Test
   public void eventQueueSizeReturnsQueueSize() {
     AbstractGatewaySenderEventProcessor processor = mock(AbstractGatewaySenderEventProcessor.class);
@@ -49,4 +76,163 @@ public class AbstractGatewaySenderEventProcessorTest {
 
     verify(queue, never()).size();
   }
+
+  @Test
+  public void successfulBatchIncrementsEventDispatchLatencyByTimeItsEventsWereQueued()
+      throws Exception {
+    GatewaySenderStats stats = mock(GatewaySenderStats.class);
+    AbstractGatewaySenderEventProcessor processor = createProcessor(stats);
+    long start = System.currentTimeMillis();
+    List<GatewaySenderEventImpl> batch =
+        Arrays.asList(createEvent(start - 1000), createEvent(start - 2000));
+
+    dispatchBatch(processor, batch, true);
+    long elapsed = System.currentTimeMillis() - start;
+
+    ArgumentCaptor<Long> latency = ArgumentCaptor.forClass(Long.class);
+    verify(stats).incEventDispatchLatency(latency.capture());
+    assertThat(latency.getValue()).isBetween(3000L, 3000L + 2 * elapsed);
+  }
+
+  @Test
+  public void failedBatchDoesNotIncrementEventDispatchLatency() throws Exception {
+    GatewaySenderStats stats = mock(GatewaySenderStats.class);
+    AbstractGatewaySenderEventProcessor processor = createProcessor(stats);
+    long start = System.currentTimeMillis();
+    List<GatewaySenderEventImpl> batch =
+        Arrays.asList(createEvent(start - 1000), createEvent(start - 2000));
+
+    dispatchBatch(processor, batch, false);
+
+    verify(stats).incBatchesRedistributed();
+    verify(stats, never()).incEventDispatchLatency(anyLong());
+  }
+
+  @Test
+  public void setBatchSizeCapsAdaptiveBatchSizeBeforeLaterAcknowledgements() {
+    System.setProperty(AdaptiveBatchSizeController.ENABLED_PROPERTY, "true");
+    GatewaySenderStats stats = mock(GatewaySenderStats.class);
+    AbstractGatewaySenderEventProcessor processor = createProcessor(stats, 100);
+
+    processor.setBatchSize(10);
+    assertThat(processor.getBatchSize()).isEqualTo(10);
+
+    processor.batchAcknowledged(10, 0);
+    assertThat(processor.getBatchSize()).isEqualTo(10);
+  }
+
+  @Test
+  public void setBatchSizeAboveAdaptiveBatchSizeKeepsTheTunedBatchSize() {
+    System.setProperty(AdaptiveBatchSizeController.ENABLED_PROPERTY, "true");
+    GatewaySenderStats stats = mock(GatewaySenderStats.class);
+    AbstractGatewaySenderEventProcessor processor = createProcessor(stats, 100);
+    processor.setBatchSize(10);
+
+    processor.setBatchSize(200);
+    assertThat(processor.getBatchSize()).isEqualTo(10);
+
+    processor.batchAcknowledged(10, 0);
+    assertThat(processor.getBatchSize()).isEqualTo(30);
+  }
+
+  @Test
+  public void waitForBatchWindowBlocksAtMaxInFlightBatchesUntilABatchIsAcknowledged()
+      throws Exception {
+    GatewaySenderStats stats = mock(GatewaySenderStats.class);
+    AbstractGatewaySenderEventProcessor processor = createProcessor(stats);
+    processor.setMaxInFlightBatches(2);
+    processor.getBatchIdToEventsMap().put(1, createBatch());
+    processor.getBatchIdToEventsMap().put(2, createBatch());
+
+    Future<Boolean> waitForBatchWindow =
+        executorServiceRule.submit(() -> processor.waitForBatchWindow());
+    await().untilAsserted(() -> verify(stats).startTime());
+    assertThat(waitForBatchWindow.isDone()).isFalse();
+
+    processor.handleSuccessBatchAck(1);
+
+    assertThat(waitForBatchWindow.get(getTimeout().toMillis(), MILLISECONDS)).isTrue();
+    verify(stats).endBatchWindowWait(0L);
+  }
+
+  @Test
+  public void waitForBatchWindowReturnsFalseWhenPausedWhileWaiting() throws Exception {
+    GatewaySenderStats stats = mock(GatewaySenderStats.class);
+    AbstractGatewaySenderEventProcessor processor = createProcessor(stats);
+    processor.setMaxInFlightBatches(2);
+    processor.getBatchIdToEventsMap().put(1, createBatch());
+    processor.getBatchIdToEventsMap().put(2, createBatch());
+
+    Future<Boolean> waitForBatchWindow =
+        executorServiceRule.submit(() -> processor.waitForBatchWindow());
+    await().untilAsserted(() -> verify(stats).startTime());
+    assertThat(waitForBatchWindow.isDone()).isFalse();
+
+    processor.pauseDispatching();
+
+    assertThat(waitForBatchWindow.get(getTimeout().toMillis(), MILLISECONDS)).isFalse();
+    assertThat(processor.getBatchIdToEventsMap()).hasSize(2);
+    verify(stats).endBatchWindowWait(0L);
+  }
+
+  @Test
+  public void waitForBatchWindowDoesNotBlockBelowMaxInFlightBatches() throws Exception {
+    GatewaySenderStats stats = mock(GatewaySenderStats.class);
+    AbstractGatewaySenderEventProcessor processor = createProcessor(stats);
+    processor.setMaxInFlightBatches(2);
+    processor.getBatchIdToEventsMap().put(1, createBatch());
+
+    assertThat(processor.waitForBatchWindow()).isTrue();
+    verify(stats, never()).startTime();
+  }
+
+  private AbstractGatewaySenderEventProcessor createProcessor(GatewaySenderStats stats) {
+    return createProcessor(stats, 0);
+  }
+
+  private AbstractGatewaySenderEventProcessor createProcessor(GatewaySenderStats stats,
+      int batchSize) {
+    AbstractGatewaySender sender = mock(AbstractGatewaySender.class);
+    when(sender.getBatchSize()).thenReturn(batchSize);
+    when(sender.getStatistics()).thenReturn(stats);
+    when(sender.getStopper()).thenReturn(mock(CancelCriterion.class));
+    AbstractGatewaySenderEventProcessor processor =
+        new TestSerialGatewaySenderEventProcessor(sender, "ny", null, false);
+    processor.queue = queue;
+    return processor;
+  }
+
+  /**
+   * Runs the processor until it has dispatched the given batch once, with a dispatcher that
+   * reports the given result.
+   */
+  private static void dispatchBatch(AbstractGatewaySenderEventProcessor processor,
+      List<GatewaySenderEventImpl> batch, boolean success) throws Exception {
+    SerialGatewaySenderQueue serialQueue = mock(SerialGatewaySenderQueue.class);
+    doReturn(batch).doAnswer(invocation -> {
+      processor.setIsStopped(true);
+      return Collections.emptyList();
+    }).when(serialQueue).peek(anyInt(), anyInt());
+    GatewaySenderEventCallbackDispatcher dispatcher =
+        mock(GatewaySenderEventCallbackDispatcher.class);
+    when(dispatcher.dispatchBatch(any(), anyBoolean(), anyBoolean())).thenReturn(success);
+    processor.queue = serialQueue;
+    processor.dispatcher = dispatcher;
+
+    processor.processQueue();
+
+    verify(dispatcher).dispatchBatch(any(), anyBoolean(), anyBoolean());
+  }
+
+  private static GatewaySenderEventImpl createEvent(long creationTime) {
+    GatewaySenderEventImpl event = mock(GatewaySenderEventImpl.class);
+    when(event.getCreationTime()).thenReturn(creationTime);
+    return event;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<GatewaySenderEventImpl>[] createBatch() {
+    return new List[] {new ArrayList<GatewaySenderEventImpl>(),
+        new ArrayList<GatewaySenderEventImpl>()};
+  }
 }
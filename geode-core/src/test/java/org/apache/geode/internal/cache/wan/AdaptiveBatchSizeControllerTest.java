@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.WanTest;
+
+@Category({WanTest.class})
+public class AdaptiveBatchSizeControllerTest {
+
+  private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(2000);
+
+  private final AdaptiveBatchSizeController controller =
+      new AdaptiveBatchSizeController(100, 1000, 1000);
+
+  @Test
+  public void fullBatchAcknowledgedWithinTargetLatencyGrowsBatchSize() {
+    assertThat(controller.batchAcknowledged(100, FAST)).isTrue();
+
+    assertThat(controller.getBatchSize()).isEqualTo(200);
+  }
+
+  @Test
+  public void batchSizeDoesNotGrowBeyondMaximum() {
+    for (int i = 0; i < 20; i++) {
+      controller.batchAcknowledged(controller.getBatchSize(), FAST);
+    }
+
+    assertThat(controller.getBatchSize()).isEqualTo(1000);
+    assertThat(controller.batchAcknowledged(1000, FAST)).isFalse();
+  }
+
+  @Test
+  public void partialBatchLeavesBatchSizeUnchanged() {
+    assertThat(controller.batchAcknowledged(50, FAST)).isFalse();
+
+    assertThat(controller.getBatchSize()).isEqualTo(100);
+  }
+
+  @Test
+  public void slowAcknowledgementHalvesBatchSize() {
+    assertThat(controller.batchAcknowledged(100, SLOW)).isTrue();
+
+    assertThat(controller.getBatchSize()).isEqualTo(50);
+  }
+
+  @Test
+  public void batchSizeDoesNotShrinkBelowOne() {
+    AdaptiveBatchSizeController controller = new AdaptiveBatchSizeController(1, 10, 1000);
+
+    assertThat(controller.batchAcknowledged(1, SLOW)).isFalse();
+    assertThat(controller.getBatchSize()).isEqualTo(1);
+  }
+
+  @Test
+  public void setMaximumBatchSizeCapsBatchSize() {
+    controller.setMaximumBatchSize(40);
+
+    assertThat(controller.getBatchSize()).isEqualTo(40);
+    assertThat(controller.batchAcknowledged(40, FAST)).isFalse();
+  }
+
+  @Test
+  public void createReturnsNullWhenNotEnabled() {
+    assertThat(AdaptiveBatchSizeController.create(100)).isNull();
+  }
+}
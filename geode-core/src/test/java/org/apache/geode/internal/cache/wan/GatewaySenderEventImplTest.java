@@ -19,8 +19,10 @@ import static org.apache.geode.internal.serialization.KnownVersion.GEODE_1_14_0;
 import static org.apache.geode.internal.serialization.KnownVersion.GEODE_1_8_0;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -48,6 +50,8 @@ import org.apache.geode.internal.cache.GemFireCacheImpl;
 import org.apache.geode.internal.cache.LocalRegion;
 import org.apache.geode.internal.cache.TXId;
 import org.apache.geode.internal.cache.wan.parallel.ParallelGatewaySenderHelper;
+import org.apache.geode.internal.offheap.MemoryAllocator;
+import org.apache.geode.internal.offheap.StoredObject;
 import org.apache.geode.internal.serialization.DSCODE;
 import org.apache.geode.internal.serialization.DeserializationContext;
 import org.apache.geode.internal.serialization.KnownVersion;
@@ -263,6 +267,48 @@ public class GatewaySenderEventImplTest {
         .isEqualTo(deserializedEvent.isLastEventInTransaction());
   }
 
+  @Test
+  public void moveValueOffHeapKeepsOnlyTheOffHeapValue() throws Exception {
+    GatewaySenderEventImpl event = createEvent();
+    byte[] serializedValue = event.getSerializedValue();
+    StoredObject storedObject = mock(StoredObject.class);
+    when(storedObject.getValueAsHeapByteArray()).thenReturn(serializedValue);
+    MemoryAllocator allocator = mock(MemoryAllocator.class);
+    when(allocator.getTotalMemory()).thenReturn(1000L);
+    when(allocator.getFreeMemory()).thenReturn(1000L);
+    when(allocator.allocateAndInitialize(serializedValue, true, false)).thenReturn(storedObject);
+
+    assertThat(event.moveValueOffHeap(allocator)).isTrue();
+    assertThat(event.value).isNull();
+
+    GatewaySenderEventImpl deserializedEvent =
+        (GatewaySenderEventImpl) BlobHelper.deserializeBlob(BlobHelper.serializeToBlob(event));
+
+    assertThat(deserializedEvent.getSerializedValue()).isEqualTo(serializedValue);
+    assertThat(event.value).isNull();
+  }
+
+  @Test
+  public void moveValueOffHeapLeavesValueOnHeapWhenOffHeapMemoryIsLow() throws Exception {
+    GatewaySenderEventImpl event = createEvent();
+    byte[] serializedValue = event.getSerializedValue();
+    MemoryAllocator allocator = mock(MemoryAllocator.class);
+    when(allocator.getTotalMemory()).thenReturn(1000L);
+    when(allocator.getFreeMemory()).thenReturn(100L);
+
+    assertThat(event.moveValueOffHeap(allocator)).isFalse();
+    assertThat(event.value).isSameAs(serializedValue);
+    verify(allocator, never()).allocateAndInitialize(any(), anyBoolean(), anyBoolean());
+  }
+
+  private GatewaySenderEventImpl createEvent() throws Exception {
+    LocalRegion region = mock(LocalRegion.class);
+    when(region.getFullPath()).thenReturn(testName.getMethodName() + "_region");
+    when(region.getCache()).thenReturn(cache);
+    return ParallelGatewaySenderHelper.createGatewaySenderEvent(region, Operation.CREATE,
+        "key1", "value1", 0, 0, 0, 0);
+  }
+
   public static class VersionAndExpectedInvocations {
 
     private final KnownVersion version;
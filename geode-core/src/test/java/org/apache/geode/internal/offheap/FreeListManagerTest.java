@@ -23,7 +23,9 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.apache.logging.log4j.Logger;
@@ -119,6 +121,25 @@ public class FreeListManagerTest {
     validateChunkSizes(c, tinySize);
   }
 
+  @Test
+  public void allocateTinyChunkUsesChunkFreedByAnotherThread() throws Exception {
+    FreeListManager manager =
+        new FreeListManager(ma, new Slab[] {new SlabImpl(DEFAULT_SLAB_SIZE)}, 4);
+    try {
+      long address = manager.allocate(10).getAddress();
+      Thread thread = new Thread(() -> ReferenceCounter.release(address, manager));
+      thread.start();
+      thread.join();
+
+      OffHeapStoredObject c = manager.allocate(10);
+
+      assertThat(c.getAddress()).isEqualTo(address);
+      validateChunkSizes(c, 10);
+    } finally {
+      manager.freeSlabs();
+    }
+  }
+
   @Test
   public void allocateTinyChunkFromEmptyFreeListHasCorrectSize() {
     setUpSingleSlabManager();
@@ -437,6 +458,26 @@ public class FreeListManagerTest {
     assertThat(freeListManager.defragment(slabSize)).isTrue();
   }
 
+  @Test
+  public void defragmentCombinesChunksFreedInAnyOrder() {
+    int chunkCount = 1024;
+    int slabSize = chunkCount * 32;
+    setUpSingleSlabManager(slabSize);
+    List<OffHeapStoredObject> chunks = new ArrayList<>();
+    for (int i = 0; i < chunkCount; i++) {
+      chunks.add(freeListManager.allocate(24));
+    }
+    Collections.shuffle(chunks, new Random(1));
+    for (OffHeapStoredObject c : chunks) {
+      ReferenceCounter.release(c.getAddress(), freeListManager);
+    }
+
+    this.freeListManager.firstDefragmentation = false;
+    assertThat(freeListManager.defragment(slabSize)).isTrue();
+    assertThat(freeListManager.getFragmentList()).hasSize(1);
+    assertThat(freeListManager.getFragmentList().get(0).getSize()).isEqualTo(slabSize);
+  }
+
   @Test
   public void defragmentWithEmptyTinyFreeList() {
     setUpSingleSlabManager();
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.tcp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.MembershipTest;
+
+@Category(MembershipTest.class)
+public class ByteBufferInputStreamTest {
+
+  @Test
+  public void resetBufferReusesByteSourceAndReadsNewBuffer() {
+    ByteBufferInputStream stream = new ByteBufferInputStream(ByteBuffer.allocate(4).putInt(0, 1));
+    ByteBufferInputStream.ByteSource source = stream.getBuffer();
+    assertThat(stream.readInt()).isEqualTo(1);
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(4).putInt(0, 2);
+    stream.resetBuffer(direct);
+
+    assertThat(stream.getBuffer()).isSameAs(source);
+    assertThat(stream.readInt()).isEqualTo(2);
+    assertThat(direct.position()).isEqualTo(4);
+  }
+
+  @Test
+  public void resetBufferOnEmptyStreamCreatesByteSource() {
+    ByteBufferInputStream stream = new ByteBufferInputStream();
+
+    stream.resetBuffer(ByteBuffer.allocate(4).putInt(0, 3));
+
+    assertThat(stream.readInt()).isEqualTo(3);
+  }
+}
@@ -14,14 +14,23 @@
  */
 package org.apache.geode.internal.tcp;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.geode.test.awaitility.GeodeAwaitility.getTimeout;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.net.Socket;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.FutureTask;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -31,19 +40,22 @@ import org.apache.geode.distributed.DistributedMember;
 import org.apache.geode.distributed.internal.DMStats;
 import org.apache.geode.distributed.internal.DistributionManager;
 import org.apache.geode.distributed.internal.InternalDistributedSystem;
+import org.apache.geode.distributed.internal.membership.InternalDistributedMember;
 import org.apache.geode.test.junit.categories.MembershipTest;
 
 @Category(MembershipTest.class)
 public class ConnectionTableTest {
 
   private ConnectionTable connectionTable;
+  private TCPConduit tcpConduit;
+  private InternalDistributedSystem system;
   private Socket socket;
   private PeerConnectionFactory factory;
   private Connection connection;
 
   @Before
   public void initConnectionTable() throws Exception {
-    InternalDistributedSystem system = mock(InternalDistributedSystem.class);
+    system = mock(InternalDistributedSystem.class);
     when(system.isShareSockets()).thenReturn(false);
 
     DistributionManager dm = mock(DistributionManager.class);
@@ -52,7 +64,7 @@ public class ConnectionTableTest {
     CancelCriterion cancelCriterion = mock(CancelCriterion.class);
     DMStats dmStats = mock(DMStats.class);
 
-    TCPConduit tcpConduit = mock(TCPConduit.class);
+    tcpConduit = mock(TCPConduit.class);
     when(tcpConduit.getDM()).thenReturn(dm);
     when(tcpConduit.getCancelCriterion()).thenReturn(cancelCriterion);
     when(tcpConduit.getStats()).thenReturn(dmStats);
@@ -67,6 +79,11 @@ public class ConnectionTableTest {
     when(factory.createReceiver(connectionTable, socket)).thenReturn(connection);
   }
 
+  @After
+  public void removeThreadOrderedConnections() {
+    ConnectionTable.threadOrderedConnMap.remove();
+  }
+
   @Test
   public void testConnectionsClosedDuringCreateAreNotAddedAsReceivers() throws Exception {
     when(connection.isReceiverStopped()).thenReturn(false);
@@ -113,4 +130,108 @@ public class ConnectionTableTest {
       }
     }
   }
+
+  @Test
+  public void threadOwnedConnectionIsUsedWhenOrderedConnectionsAreNotStriped() throws Exception {
+    when(system.threadOwnsResources()).thenReturn(true);
+    InternalDistributedMember member = mock(InternalDistributedMember.class);
+    Connection threadOwnedConnection = createOrderedConnection();
+    Map<DistributedMember, Connection> threadConnectionMap = new HashMap<>();
+    threadConnectionMap.put(member, threadOwnedConnection);
+    ConnectionTable.threadOrderedConnMap.set(threadConnectionMap);
+
+    assertSame(threadOwnedConnection, connectionTable.get(member, true, 0, 0, 0));
+  }
+
+  @Test
+  public void threadUsesTheOrderedConnectionOfItsStripe() throws Exception {
+    when(system.threadOwnsResources()).thenReturn(true);
+    ConnectionTable stripedConnectionTable = ConnectionTable.create(tcpConduit, 4);
+    InternalDistributedMember member = mock(InternalDistributedMember.class);
+    Connection stripedConnection = createOrderedConnection();
+    stripedConnectionTable.getOrderedConnectionStripe(Thread.currentThread()).put(member,
+        stripedConnection);
+    Map<DistributedMember, Connection> threadConnectionMap = new HashMap<>();
+    threadConnectionMap.put(member, createOrderedConnection());
+    ConnectionTable.threadOrderedConnMap.set(threadConnectionMap);
+
+    assertSame(stripedConnection, stripedConnectionTable.get(member, true, 0, 0, 0));
+    assertSame(stripedConnection, stripedConnectionTable.get(member, true, 0, 0, 0));
+  }
+
+  @Test
+  public void threadThatWantsOwnResourcesKeepsItsOwnConnectionWhenStriped() throws Exception {
+    when(system.threadOwnsResources()).thenReturn(true);
+    ConnectionTable stripedConnectionTable = ConnectionTable.create(tcpConduit, 4);
+    InternalDistributedMember member = mock(InternalDistributedMember.class);
+    Connection threadOwnedConnection = createOrderedConnection();
+    // a reader thread registers for its own resources, so run on a thread that is thrown away
+    FutureTask<Connection> getConnection = new FutureTask<>(() -> {
+      ConnectionTable.threadWantsOwnResources();
+      stripedConnectionTable.getOrderedConnectionStripe(Thread.currentThread()).put(member,
+          createOrderedConnection());
+      Map<DistributedMember, Connection> threadConnectionMap = new HashMap<>();
+      threadConnectionMap.put(member, threadOwnedConnection);
+      ConnectionTable.threadOrderedConnMap.set(threadConnectionMap);
+      return stripedConnectionTable.get(member, true, 0, 0, 0);
+    });
+    Thread thread = new Thread(getConnection);
+    thread.start();
+
+    assertSame(threadOwnedConnection, getConnection.get(getTimeout().toMillis(), MILLISECONDS));
+  }
+
+  @Test
+  public void orderedConnectionStripeIsStableForAThread() {
+    ConnectionTable stripedConnectionTable = ConnectionTable.create(tcpConduit, 4);
+    Thread thread = new Thread(() -> {
+    });
+
+    Map stripe = stripedConnectionTable.getOrderedConnectionStripe(thread);
+
+    assertSame(stripe, stripedConnectionTable.getOrderedConnectionStripe(thread));
+  }
+
+  @Test
+  public void closedStripedConnectionIsRemovedFromItsStripe() {
+    ConnectionTable stripedConnectionTable = ConnectionTable.create(tcpConduit, 4);
+    InternalDistributedMember member = mock(InternalDistributedMember.class);
+    Connection stripedConnection = createOrderedConnection();
+    Map stripe = stripedConnectionTable.getOrderedConnectionStripe(Thread.currentThread());
+    stripe.put(member, stripedConnection);
+
+    stripedConnectionTable.removeSharedConnection("closed", member, true,
+        createOrderedConnection());
+    assertTrue(stripe.containsKey(member));
+
+    stripedConnectionTable.removeSharedConnection("closed", member, true, stripedConnection);
+    assertFalse(stripe.containsKey(member));
+    verify(stripedConnection).closePartialConnect("closed", false);
+  }
+
+  @Test
+  public void stripedConnectionsAreClosedWhenTheirMemberIsRemoved() {
+    ConnectionTable stripedConnectionTable = ConnectionTable.create(tcpConduit, 4);
+    InternalDistributedMember member = mock(InternalDistributedMember.class);
+    InternalDistributedMember otherMember = mock(InternalDistributedMember.class);
+    Connection stripedConnection = createOrderedConnection();
+    Connection otherConnection = createOrderedConnection();
+    Map stripe = stripedConnectionTable.getOrderedConnectionStripe(Thread.currentThread());
+    stripe.put(member, stripedConnection);
+    stripe.put(otherMember, otherConnection);
+
+    stripedConnectionTable.removeEndpoint(member, "departed", false);
+
+    assertFalse(stripe.containsKey(member));
+    assertTrue(stripe.containsKey(otherMember));
+    verify(stripedConnection).closePartialConnect("departed", false);
+    verify(otherConnection, never()).closePartialConnect("departed", false);
+  }
+
+  private static Connection createOrderedConnection() {
+    Connection connection = mock(Connection.class);
+    connection.connected = true;
+    connection.preserveOrder = true;
+    return connection;
+  }
 }
@@ -14,9 +14,14 @@
  */
 package org.apache.geode.internal.tcp;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.apache.geode.internal.inet.LocalHostUtil.getLocalHost;
+import static org.apache.geode.test.awaitility.GeodeAwaitility.await;
+import static org.apache.geode.test.awaitility.GeodeAwaitility.getTimeout;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
@@ -31,12 +36,22 @@ import java.net.Socket;
 import java.net.UnknownHostException;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import org.mockito.invocation.InvocationOnMock;
 
 import org.apache.geode.CancelCriterion;
 import org.apache.geode.alerting.internal.spi.AlertingAction;
+import org.apache.geode.distributed.DistributedSystemDisconnectedException;
 import org.apache.geode.distributed.internal.DMStats;
 import org.apache.geode.distributed.internal.Distribution;
 import org.apache.geode.distributed.internal.DistributionConfig;
@@ -47,10 +62,16 @@ import org.apache.geode.internal.monitoring.executor.AbstractExecutor;
 import org.apache.geode.internal.net.BufferPool;
 import org.apache.geode.internal.net.SocketCloser;
 import org.apache.geode.test.junit.categories.MembershipTest;
+import org.apache.geode.test.junit.rules.ExecutorServiceRule;
 
 @Category(MembershipTest.class)
 public class ConnectionTest {
 
+  private static final long TIMEOUT_MILLIS = getTimeout().toMillis();
+
+  @Rule
+  public ExecutorServiceRule executorServiceRule = new ExecutorServiceRule();
+
   @Test
   public void canBeMocked() throws Exception {
     Connection mockConnection = mock(Connection.class);
@@ -125,6 +146,10 @@ public class ConnectionTest {
   }
 
   private Connection createSpiedConnection() throws IOException {
+    return spy(createConnection());
+  }
+
+  private Connection createConnection() throws IOException {
     ConnectionTable connectionTable = mock(ConnectionTable.class);
     Distribution distribution = mock(Distribution.class);
     DistributionManager distributionManager = mock(DistributionManager.class);
@@ -146,9 +171,7 @@ public class ConnectionTest {
 
     SocketChannel channel = SocketChannel.open();
 
-    Connection connection = new Connection(connectionTable, channel.socket());
-    connection = spy(connection);
-    return connection;
+    return new Connection(connectionTable, channel.socket());
   }
 
   @Test
@@ -175,4 +198,103 @@ public class ConnectionTest {
     connection.notifyHandshakeWaiter(false);
     verify(connection, times(1)).clearSSLInputBuffer();
   }
+
+  @Test
+  public void concurrentCoalescedWritesWriteEveryBufferOnce() throws Exception {
+    Connection connection = createConnection();
+    SocketChannel channel = mock(SocketChannel.class);
+    List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+    when(channel.write(any(ByteBuffer[].class), anyInt(), anyInt()))
+        .thenAnswer(invocation -> drainBuffers(invocation, written));
+    DMStats stats = mock(DMStats.class);
+
+    int writers = 20;
+    List<Future<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < writers; i++) {
+      ByteBuffer buffer = createBuffer(i);
+      futures.add(executorServiceRule.submit(() -> {
+        connection.writeCoalesced(channel, buffer, stats);
+        return null;
+      }));
+    }
+    for (Future<Void> future : futures) {
+      future.get(TIMEOUT_MILLIS, MILLISECONDS);
+    }
+
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < writers; i++) {
+      expected.add(i);
+    }
+    assertThat(written).containsExactlyInAnyOrderElementsOf(expected);
+    assertThat(connection.getPendingWriteCount()).isZero();
+  }
+
+  @Test
+  public void coalescedWriteFailureIsThrownToEveryWriterInTheFailedWrite() throws Exception {
+    Connection connection = createConnection();
+    SocketChannel channel = mock(SocketChannel.class);
+    CountDownLatch firstWriteStarted = new CountDownLatch(1);
+    CountDownLatch finishFirstWrite = new CountDownLatch(1);
+    AtomicInteger writeCount = new AtomicInteger();
+    List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+    RuntimeException failure = new DistributedSystemDisconnectedException("disconnected");
+    when(channel.write(any(ByteBuffer[].class), anyInt(), anyInt())).thenAnswer(invocation -> {
+      if (writeCount.getAndIncrement() == 0) {
+        firstWriteStarted.countDown();
+        finishFirstWrite.await(TIMEOUT_MILLIS, MILLISECONDS);
+        return drainBuffers(invocation, written);
+      }
+      throw failure;
+    });
+    DMStats stats = mock(DMStats.class);
+
+    Future<Void> first = submitCoalescedWrite(connection, channel, 0, stats);
+    firstWriteStarted.await(TIMEOUT_MILLIS, MILLISECONDS);
+    Future<Void> second = submitCoalescedWrite(connection, channel, 1, stats);
+    Future<Void> third = submitCoalescedWrite(connection, channel, 2, stats);
+    await().until(() -> connection.getPendingWriteCount() == 2);
+    finishFirstWrite.countDown();
+
+    first.get(TIMEOUT_MILLIS, MILLISECONDS);
+    Throwable secondThrown = catchThrowable(() -> second.get(TIMEOUT_MILLIS, MILLISECONDS));
+    Throwable thirdThrown = catchThrowable(() -> third.get(TIMEOUT_MILLIS, MILLISECONDS));
+
+    assertThat(written).containsExactly(0);
+    assertThat(secondThrown).isInstanceOf(ExecutionException.class);
+    assertThat(secondThrown.getCause()).isSameAs(failure);
+    assertThat(thirdThrown).isInstanceOf(ExecutionException.class);
+    assertThat(thirdThrown.getCause()).isSameAs(failure);
+    verify(channel, times(2)).write(any(ByteBuffer[].class), anyInt(), anyInt());
+  }
+
+  private Future<Void> submitCoalescedWrite(Connection connection, SocketChannel channel, int id,
+      DMStats stats) {
+    ByteBuffer buffer = createBuffer(id);
+    return executorServiceRule.submit(() -> {
+      connection.writeCoalesced(channel, buffer, stats);
+      return null;
+    });
+  }
+
+  private static ByteBuffer createBuffer(int id) {
+    ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+    buffer.putInt(id);
+    buffer.flip();
+    return buffer;
+  }
+
+  /**
+   * Consumes every buffer passed to a mocked gathering write, recording the id each one holds.
+   */
+  private static long drainBuffers(InvocationOnMock invocation, List<Integer> written) {
+    ByteBuffer[] buffers = invocation.getArgument(0);
+    int offset = invocation.getArgument(1);
+    int length = invocation.getArgument(2);
+    long amountWritten = 0;
+    for (int i = offset; i < offset + length; i++) {
+      amountWritten += buffers[i].remaining();
+      written.add(buffers[i].getInt());
+    }
+    return amountWritten;
+  }
 }
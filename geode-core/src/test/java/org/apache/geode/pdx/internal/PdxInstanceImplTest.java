@@ -16,6 +16,7 @@ package org.apache.geode.pdx.internal;
 
 import static org.apache.commons.lang3.StringUtils.substringAfter;
 import static org.apache.geode.distributed.internal.locks.GrantorRequestProcessor.GrantorRequestContext;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
@@ -264,6 +265,18 @@ public class PdxInstanceImplTest {
     assertEquals(boolean[].class, instance.getField(booleanArrayField.getFieldName()).getClass());
   }
 
+  @Test
+  public void testReadFieldByPdxFieldMatchesGetField() {
+    final PdxInstanceImpl impl = (PdxInstanceImpl) instance;
+    assertEquals(instance.getField(intField.getFieldName()), impl.readField(intField));
+    assertEquals(instance.getField(longField.getFieldName()), impl.readField(longField));
+    assertEquals(instance.getField(stringField.getFieldName()), impl.readField(stringField));
+    assertEquals(instance.getField(objectField.getFieldName()).toString(),
+        impl.readField(objectField).toString());
+    assertArrayEquals((int[]) instance.getField(intArrayField.getFieldName()),
+        (int[]) impl.readField(intArrayField));
+  }
+
   @Test
   public void testHasField() {
     assertEquals(false, instance.hasField(nonExistentField.getFieldName()));
@@ -17,6 +17,7 @@ package org.apache.geode.pdx.internal;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -151,6 +152,17 @@ public class PdxTypeTest {
     assertTrue(fieldNames.contains(FIELD_4.getFieldName()));
   }
 
+  @Test
+  public void testGetFieldNamesIsReusedUntilFieldAdded() {
+    final PdxType type = new PdxType(TYPE_NAME, EXPECT_DOMAIN_CLASS);
+    type.addField(FIELD_0);
+    final List<String> fieldNames = type.getFieldNames();
+    assertSame(fieldNames, type.getFieldNames());
+    type.addField(FIELD_1);
+    assertNotSame(fieldNames, type.getFieldNames());
+    assertEquals(2, type.getFieldNames().size());
+  }
+
   @Test
   public void testSortedFields() {
     final PdxType type = new PdxType(TYPE_NAME, EXPECT_DOMAIN_CLASS);
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.pdx.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.pdx.FieldType;
+import org.apache.geode.test.junit.categories.SerializationTest;
+
+@Category({SerializationTest.class})
+public class PdxWriterImplTest {
+
+  @Test
+  public void fixedWidthFieldsAreWrittenWithoutOffsets() {
+    PdxType type = new PdxType("PdxWriterImplTest.Numeric", false);
+    type.addField(new PdxField("d0", 0, 0, FieldType.DOUBLE, false));
+    type.addField(new PdxField("d1", 1, 0, FieldType.DOUBLE, false));
+    type.addField(new PdxField("l0", 2, 0, FieldType.LONG, false));
+    type.addField(new PdxField("i0", 3, 0, FieldType.INT, false));
+    PdxWriterImpl writer = new PdxWriterImpl(type, new PdxOutputStream());
+
+    writer.writeDouble("d0", 1.0);
+    writer.writeDouble("d1", 2.0);
+    writer.writeLong("l0", 3L);
+    writer.writeInt("i0", 4);
+    writer.completeByteStreamGeneration();
+
+    assertThat(writer.toByteArray()).hasSize(PdxWriterImpl.HEADER_SIZE
+        + 2 * DataSize.DOUBLE_SIZE + DataSize.LONG_SIZE + DataSize.INTEGER_SIZE);
+  }
+
+  @Test
+  public void singleVariableLengthFieldNeedsNoOffset() {
+    PdxType type = new PdxType("PdxWriterImplTest.Mixed", false);
+    type.addField(new PdxField("d0", 0, 0, FieldType.DOUBLE, false));
+    type.addField(new PdxField("b0", 1, 0, FieldType.BYTE_ARRAY, false));
+    PdxWriterImpl writer = new PdxWriterImpl(type, new PdxOutputStream());
+
+    writer.writeDouble("d0", 1.0);
+    writer.writeByteArray("b0", new byte[] {1, 2, 3});
+    writer.completeByteStreamGeneration();
+
+    // one byte array length byte followed by the three bytes
+    assertThat(writer.toByteArray())
+        .hasSize(PdxWriterImpl.HEADER_SIZE + DataSize.DOUBLE_SIZE + 1 + 3);
+  }
+}
@@ -56,7 +56,6 @@ public class TypeRegistryTest {
   public void defineTypeGivenANewTypeThatIsInTypeToIdButNotIdToTypeStoresItWithTheCorrectIdAndReturnsIt() {
     when(typeRegistration.defineType(newType)).thenReturn(37);
     typeRegistry.getTypeToId().put(newType, 37);
-    typeRegistry.getIdToType().put(37, null);
 
     PdxType result = typeRegistry.defineType(newType);
 
@@ -82,7 +81,6 @@ public class TypeRegistryTest {
   public void defineTypeGivenATypeEqualToAnExistingButNotInTypeToIdTypeReturnsTheExistingType() {
     PdxType existingType = new PdxType("myClass", true);
     PdxType equalType = new PdxType("myClass", true);
-    typeRegistry.getTypeToId().put(existingType, null);
     typeRegistry.getIdToType().put(37, existingType);
     when(typeRegistration.defineType(equalType)).thenReturn(37);
 
@@ -94,7 +92,6 @@ public class TypeRegistryTest {
   @Test
   public void defineTypeGivenATypeNotEqualToAnExistingButWithTheSameIdThrows() {
     PdxType existingType = mock(PdxType.class);
-    typeRegistry.getTypeToId().put(existingType, null);
     typeRegistry.getIdToType().put(37, existingType);
     when(typeRegistration.defineType(newType)).thenReturn(37);
 
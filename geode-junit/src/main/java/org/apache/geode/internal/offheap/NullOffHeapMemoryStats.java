@@ -106,6 +106,14 @@ public class NullOffHeapMemoryStats implements OffHeapMemoryStats {
   @Override
   public void setFragmentation(int value) {}
 
+  @Override
+  public long startAllocation() {
+    return 0;
+  }
+
+  @Override
+  public void endAllocation(long start) {}
+
   @Override
   public int getFragmentation() {
     return 0;
@@ -121,6 +129,16 @@ public class NullOffHeapMemoryStats implements OffHeapMemoryStats {
     return 0;
   }
 
+  @Override
+  public long getAllocations() {
+    return 0;
+  }
+
+  @Override
+  public long getAllocationTime() {
+    return 0;
+  }
+
   @Override
   public void close() {
     this.isClosed = true;
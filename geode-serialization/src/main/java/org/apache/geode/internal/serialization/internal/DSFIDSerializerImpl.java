@@ -21,13 +21,28 @@ import java.io.DataOutput;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.NotSerializableException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.net.SocketException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import org.apache.geode.annotations.Immutable;
+import org.apache.geode.annotations.VisibleForTesting;
 import org.apache.geode.internal.serialization.BasicSerializable;
 import org.apache.geode.internal.serialization.DSCODE;
 import org.apache.geode.internal.serialization.DSFIDNotFoundException;
@@ -44,12 +59,39 @@ import org.apache.geode.internal.serialization.StaticSerialization;
 
 public class DSFIDSerializerImpl implements DSFIDSerializer {
 
+  private static final Logger logger = LogManager.getLogger();
+
+  /**
+   * Cached in place of an instantiator for a class that has to be created with its constructor.
+   */
+  @Immutable
+  private static final Supplier<?> NO_INSTANTIATOR = () -> null;
+
   @Immutable
   private final Constructor<?>[] dsfidMap = new Constructor<?>[256];
 
   @Immutable("This maybe should be wrapped in an unmodifiableMap?")
   private final Int2ObjectOpenHashMap<Constructor<?>> dsfidMap2 = new Int2ObjectOpenHashMap<>(800);
 
+  /**
+   * Instantiators for the classes in {@link #dsfidMap}, generated the first time a DSFID is read
+   * so that reading it again does not go through {@link Constructor#newInstance}.
+   */
+  private final AtomicReferenceArray<Supplier<?>> instantiators = new AtomicReferenceArray<>(256);
+
+  private final Map<Integer, Supplier<?>> instantiators2 = new ConcurrentHashMap<>();
+
+  /**
+   * The toDataPre_/fromDataPre_ methods looked up so far, by class and method name.
+   */
+  private final ClassValue<Map<String, Method>> versionedMethods =
+      new ClassValue<Map<String, Method>>() {
+        @Override
+        protected Map<String, Method> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
   private final ObjectSerializer objectSerializer;
   private final ObjectDeserializer objectDeserializer;
 
@@ -199,9 +241,9 @@ public class DSFIDSerializerImpl implements DSFIDSerializer {
           for (KnownVersion version : versions) {
             // if peer version is less than the greatest upgraded version
             if (v.compareTo(version) < 0) {
-              ds.getClass().getMethod("toDataPre_" + version.getMethodSuffix(),
-                  new Class[] {DataOutput.class, SerializationContext.class})
-                  .invoke(ds, out, context);
+              getVersionedMethod(ds.getClass(), "toDataPre_" + version.getMethodSuffix(),
+                  DataOutput.class, SerializationContext.class)
+                      .invoke(ds, out, context);
               invoked = true;
               break;
             }
@@ -303,9 +345,9 @@ public class DSFIDSerializerImpl implements DSFIDSerializer {
           for (KnownVersion version : versions) {
             // if peer version is less than the greatest upgraded version
             if (v.compareTo(version) < 0) {
-              ds.getClass().getMethod("fromDataPre" + '_' + version.getMethodSuffix(),
-                  new Class[] {DataInput.class, DeserializationContext.class})
-                  .invoke(ds, in, context);
+              getVersionedMethod(ds.getClass(), "fromDataPre" + '_' + version.getMethodSuffix(),
+                  DataInput.class, DeserializationContext.class)
+                      .invoke(ds, in, context);
               invoked = true;
               break;
             }
@@ -333,6 +375,16 @@ public class DSFIDSerializerImpl implements DSFIDSerializer {
     }
   }
 
+  private Method getVersionedMethod(Class<?> c, String name, Class<?>... parameterTypes)
+      throws NoSuchMethodException {
+    Map<String, Method> methods = versionedMethods.get(c);
+    Method method = methods.get(name);
+    if (method == null) {
+      method = c.getMethod(name, parameterTypes);
+      methods.put(name, method);
+    }
+    return method;
+  }
 
 
   @Override
@@ -346,8 +398,10 @@ public class DSFIDSerializerImpl implements DSFIDSerializer {
       }
       if (dsfid >= Byte.MIN_VALUE && dsfid <= Byte.MAX_VALUE) {
         dsfidMap[dsfid + Byte.MAX_VALUE + 1] = cons;
+        instantiators.set(dsfid + Byte.MAX_VALUE + 1, null);
       } else {
         dsfidMap2.put(dsfid, cons);
+        instantiators2.remove(dsfid);
       }
     } catch (NoSuchMethodException nsme) {
       throw new IllegalArgumentException("Unable to find a default constructor for " + dsfidClass,
@@ -355,12 +409,93 @@ public class DSFIDSerializerImpl implements DSFIDSerializer {
     }
   }
 
+  /**
+   * Returns a {@link Supplier} that invokes the given public no-arg constructor through a
+   * generated lambda rather than reflection, or null if the class cannot be linked that way (for
+   * instance because it is not public or not visible to this class's loader), in which case the
+   * constructor is used directly.
+   */
+  static Supplier<?> createInstantiator(Constructor<?> cons) {
+    Class<?> declaringClass = cons.getDeclaringClass();
+    for (Class<?> c = declaringClass; c != null; c = c.getEnclosingClass()) {
+      if (!Modifier.isPublic(c.getModifiers())) {
+        return null;
+      }
+    }
+    final CallSite site;
+    try {
+      // the generated class links against the constructor through our class loader
+      if (Class.forName(declaringClass.getName(), false,
+          DSFIDSerializerImpl.class.getClassLoader()) != declaringClass) {
+        return null;
+      }
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      MethodHandle handle = lookup.unreflectConstructor(cons);
+      site = LambdaMetafactory.metafactory(lookup, "get",
+          MethodType.methodType(Supplier.class), MethodType.methodType(Object.class), handle,
+          handle.type());
+    } catch (ClassNotFoundException | IllegalAccessException | LambdaConversionException e) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Using the constructor to create instances of {}", declaringClass, e);
+      }
+      return null;
+    }
+    try {
+      return (Supplier<?>) site.getTarget().invokeExact();
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new IllegalStateException("Unable to create an instantiator for " + declaringClass, t);
+    }
+  }
+
+  /**
+   * Returns the instantiator for the constructor registered at the given index of
+   * {@link #dsfidMap}, creating it the first time. Returns null if the constructor has to be used.
+   */
+  private Supplier<?> getInstantiator(int index, Constructor<?> cons) {
+    Supplier<?> instantiator = instantiators.get(index);
+    if (instantiator == null) {
+      instantiator = createInstantiatorOrMarker(cons);
+      instantiators.compareAndSet(index, null, instantiator);
+    }
+    return instantiator == NO_INSTANTIATOR ? null : instantiator;
+  }
+
+  private Supplier<?> getInstantiator2(int dsfid, Constructor<?> cons) {
+    Supplier<?> instantiator =
+        instantiators2.computeIfAbsent(dsfid, k -> createInstantiatorOrMarker(cons));
+    return instantiator == NO_INSTANTIATOR ? null : instantiator;
+  }
+
+  private static Supplier<?> createInstantiatorOrMarker(Constructor<?> cons) {
+    Supplier<?> instantiator = createInstantiator(cons);
+    return instantiator == null ? NO_INSTANTIATOR : instantiator;
+  }
+
+  @VisibleForTesting
+  boolean isInstantiatorResolved(int dsfid) {
+    if (dsfid >= Byte.MIN_VALUE && dsfid <= Byte.MAX_VALUE) {
+      return instantiators.get(dsfid + Byte.MAX_VALUE + 1) != null;
+    }
+    return instantiators2.containsKey(dsfid);
+  }
+
   public Object create(int dsfid, DataInput in) throws IOException, ClassNotFoundException {
     final Constructor<?> cons;
+    final Supplier<?> instantiator;
     if (dsfid >= Byte.MIN_VALUE && dsfid <= Byte.MAX_VALUE) {
-      cons = dsfidMap[dsfid + Byte.MAX_VALUE + 1];
+      int index = dsfid + Byte.MAX_VALUE + 1;
+      cons = dsfidMap[index];
+      instantiator = cons == null ? null : getInstantiator(index, cons);
     } else {
       cons = dsfidMap2.get(dsfid);
+      instantiator = cons == null ? null : getInstantiator2(dsfid, cons);
+    }
+    if (instantiator != null) {
+      Object ds = instantiator.get();
+      invokeFromData(ds, in);
+      return ds;
     }
     if (cons != null) {
       try {
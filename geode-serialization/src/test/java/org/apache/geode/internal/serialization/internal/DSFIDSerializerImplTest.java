@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.serialization.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import org.apache.geode.internal.serialization.BufferDataOutputStream;
+import org.apache.geode.internal.serialization.ByteArrayDataInput;
+import org.apache.geode.internal.serialization.DataSerializableFixedID;
+import org.apache.geode.internal.serialization.DeserializationContext;
+import org.apache.geode.internal.serialization.KnownVersion;
+import org.apache.geode.internal.serialization.SerializationContext;
+
+public class DSFIDSerializerImplTest {
+
+  private static final int BYTE_DSFID = 1;
+
+  private static final int SHORT_DSFID = 300;
+
+  private final DSFIDSerializerImpl serializer = new DSFIDSerializerImpl();
+
+  @Test
+  public void createInstantiatorReturnsSupplierForPublicClass() throws Exception {
+    assertThat(DSFIDSerializerImpl.createInstantiator(PublicMessage.class.getConstructor()).get())
+        .isInstanceOf(PublicMessage.class);
+  }
+
+  @Test
+  public void createInstantiatorReturnsNullForNonPublicClass() throws Exception {
+    assertThat(DSFIDSerializerImpl.createInstantiator(NonPublicMessage.class.getConstructor()))
+        .isNull();
+  }
+
+  @Test
+  public void registerDoesNotResolveInstantiator() {
+    serializer.registerDSFID(BYTE_DSFID, PublicMessage.class);
+    serializer.registerDSFID(SHORT_DSFID, PublicMessage.class);
+
+    assertThat(serializer.isInstantiatorResolved(BYTE_DSFID)).isFalse();
+    assertThat(serializer.isInstantiatorResolved(SHORT_DSFID)).isFalse();
+  }
+
+  @Test
+  public void readingDSFIDResolvesInstantiator() throws Exception {
+    serializer.registerDSFID(BYTE_DSFID, PublicMessage.class);
+    serializer.registerDSFID(SHORT_DSFID, NonPublicMessage.class);
+
+    roundTrip(new PublicMessage(BYTE_DSFID, 1), KnownVersion.CURRENT);
+    roundTrip(new NonPublicMessage(), KnownVersion.CURRENT);
+
+    assertThat(serializer.isInstantiatorResolved(BYTE_DSFID)).isTrue();
+    assertThat(serializer.isInstantiatorResolved(SHORT_DSFID)).isTrue();
+  }
+
+  @Test
+  public void registeringAgainDiscardsInstantiator() throws Exception {
+    serializer.registerDSFID(BYTE_DSFID, PublicMessage.class);
+    roundTrip(new PublicMessage(BYTE_DSFID, 1), KnownVersion.CURRENT);
+
+    serializer.registerDSFID(BYTE_DSFID, PublicMessage.class);
+
+    assertThat(serializer.isInstantiatorResolved(BYTE_DSFID)).isFalse();
+  }
+
+  @Test
+  public void roundTripsRegisteredPublicClass() throws Exception {
+    serializer.registerDSFID(BYTE_DSFID, PublicMessage.class);
+
+    PublicMessage result = roundTrip(new PublicMessage(BYTE_DSFID, 42), KnownVersion.CURRENT);
+
+    assertThat(result.value).isEqualTo(42);
+    assertThat(result.preVersionMethodsInvoked).isZero();
+  }
+
+  @Test
+  public void roundTripsRegisteredNonPublicClass() throws Exception {
+    serializer.registerDSFID(SHORT_DSFID, NonPublicMessage.class);
+
+    NonPublicMessage message = new NonPublicMessage();
+    message.value = 7;
+    NonPublicMessage result = roundTrip(message, KnownVersion.CURRENT);
+
+    assertThat(result.value).isEqualTo(7);
+  }
+
+  @Test
+  public void invokesVersionedMethodsForOlderVersions() throws Exception {
+    serializer.registerDSFID(SHORT_DSFID, PublicMessage.class);
+
+    PublicMessage first = roundTrip(new PublicMessage(SHORT_DSFID, 1), KnownVersion.GEODE_1_14_0);
+    PublicMessage second = roundTrip(new PublicMessage(SHORT_DSFID, 2), KnownVersion.GEODE_1_14_0);
+
+    assertThat(first.value).isEqualTo(1);
+    assertThat(first.preVersionMethodsInvoked).isEqualTo(1);
+    assertThat(second.value).isEqualTo(2);
+    assertThat(second.preVersionMethodsInvoked).isEqualTo(1);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T roundTrip(DataSerializableFixedID message, KnownVersion version)
+      throws IOException, ClassNotFoundException {
+    BufferDataOutputStream out = new BufferDataOutputStream(version);
+    serializer.write(message, out);
+    ByteArrayDataInput in = new ByteArrayDataInput(out.toByteArray(), version);
+    return (T) serializer.getObjectDeserializer().readObject(in);
+  }
+
+  public static class PublicMessage implements DataSerializableFixedID {
+    private int dsfid;
+    private int value;
+    private int preVersionMethodsInvoked;
+
+    public PublicMessage() {}
+
+    PublicMessage(int dsfid, int value) {
+      this.dsfid = dsfid;
+      this.value = value;
+    }
+
+    @Override
+    public int getDSFID() {
+      return dsfid;
+    }
+
+    @Override
+    public void toData(DataOutput out, SerializationContext context) throws IOException {
+      out.writeInt(value);
+    }
+
+    @Override
+    public void fromData(DataInput in, DeserializationContext context) throws IOException {
+      value = in.readInt();
+    }
+
+    public void toDataPre_GEODE_1_15_0_0(DataOutput out, SerializationContext context)
+        throws IOException {
+      out.writeInt(value);
+    }
+
+    public void fromDataPre_GEODE_1_15_0_0(DataInput in, DeserializationContext context)
+        throws IOException {
+      value = in.readInt();
+      preVersionMethodsInvoked++;
+    }
+
+    @Override
+    public KnownVersion[] getSerializationVersions() {
+      return new KnownVersion[] {KnownVersion.GEODE_1_15_0};
+    }
+  }
+
+  static class NonPublicMessage implements DataSerializableFixedID {
+    private int value;
+
+    public NonPublicMessage() {}
+
+    @Override
+    public int getDSFID() {
+      return SHORT_DSFID;
+    }
+
+    @Override
+    public void toData(DataOutput out, SerializationContext context) throws IOException {
+      out.writeInt(value);
+    }
+
+    @Override
+    public void fromData(DataInput in, DeserializationContext context) throws IOException {
+      value = in.readInt();
+    }
+
+    @Override
+    public KnownVersion[] getSerializationVersions() {
+      return null;
+    }
+  }
+}
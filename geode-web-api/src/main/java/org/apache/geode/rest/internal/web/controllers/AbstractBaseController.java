@@ -29,7 +29,6 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 
-import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -70,6 +69,7 @@ import org.apache.geode.logging.internal.log4j.api.LogService;
 import org.apache.geode.pdx.JSONFormatter;
 import org.apache.geode.pdx.JSONFormatterException;
 import org.apache.geode.pdx.PdxInstance;
+import org.apache.geode.pdx.internal.json.JsonHelper;
 import org.apache.geode.rest.internal.web.controllers.support.CacheProvider;
 import org.apache.geode.rest.internal.web.controllers.support.JSONTypes;
 import org.apache.geode.rest.internal.web.controllers.support.UpdateOp;
@@ -892,8 +892,7 @@ public abstract class AbstractBaseController implements InitializingBean {
   }
 
   JSONTypes validateJsonAndFindType(String json) {
-    try {
-      JsonParser jp = new JsonFactory().createParser(json);
+    try (JsonParser jp = JsonHelper.getJsonFactory().createParser(json)) {
       JsonToken token = jp.nextToken();
 
       if (token == JsonToken.START_OBJECT) {